@@ -0,0 +1,96 @@
+package com.lishuanglong.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 滚动模型基准测试
+ * 分别测量惯性滑动开始时确定停止位置与运动曲线的耗时，以及任意帧时刻求出滚动位置的耗时
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScrollPhysicsBenchmark {
+
+    private static final int ITEM_HEIGHT = 96;
+    private static final int SAMPLE_COUNT = 1024;
+
+    @Param({"decay", "spring", "bouncySpring", "fixedDuration"})
+    public String physics;
+
+    private ScrollPhysics mPhysics;
+
+    /**
+     * 预先生成的初始速度与帧时刻，避免基准测试被常量折叠
+     */
+    private float[] mVelocities;
+    private long[] mFrameTimes;
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        switch (physics) {
+            case "spring":
+                mPhysics = new SpringScrollPhysics();
+                break;
+            case "bouncySpring":
+                mPhysics = new SpringScrollPhysics(400, 0.6F);
+                break;
+            case "fixedDuration":
+                mPhysics = new FixedDurationScrollPhysics();
+                break;
+            default:
+                mPhysics = new DecayScrollPhysics();
+                break;
+        }
+
+        Random random = new Random(0);
+        mVelocities = new float[SAMPLE_COUNT];
+        mFrameTimes = new long[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            mVelocities[i] = random.nextInt(16001) - 8000;
+            mFrameTimes[i] = random.nextInt(1000000000);
+        }
+    }
+
+    private int nextIndex() {
+        mIndex = (mIndex + 1) & (SAMPLE_COUNT - 1);
+        return mIndex;
+    }
+
+    /**
+     * 开始惯性滑动：确定对齐后的停止位置并构造运动曲线
+     */
+    @Benchmark
+    public long flingStart() {
+        mPhysics.fling(0, mVelocities[nextIndex()], -WheelLayout.MAX_SCROLL_OFFSET, WheelLayout.MAX_SCROLL_OFFSET, ITEM_HEIGHT, 0);
+        return mPhysics.getDurationNanos();
+    }
+
+    /**
+     * 单帧求值：开始惯性滑动后直接在随机帧时刻求出滚动位置，减去flingStart的耗时即为单帧求值的耗时
+     * 求值前不经过任何中间帧，验证求值的耗时与距开始的时间无关
+     */
+    @Benchmark
+    public int frameEvaluation() {
+        int index = nextIndex();
+        mPhysics.fling(0, mVelocities[index], -WheelLayout.MAX_SCROLL_OFFSET, WheelLayout.MAX_SCROLL_OFFSET, ITEM_HEIGHT, 0);
+        mPhysics.computeScrollOffset(mFrameTimes[index]);
+        return mPhysics.getCurrY();
+    }
+}
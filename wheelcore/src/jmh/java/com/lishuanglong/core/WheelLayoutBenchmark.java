@@ -0,0 +1,113 @@
+package com.lishuanglong.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 滚轮选择器布局计算基准测试
+ * 分别测量每一帧的布局计算、滚动停止位置校正以及选中位置计算的耗时，覆盖不同的数据量、可见数据项数量以及
+ * 循环与非循环状态
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WheelLayoutBenchmark {
+
+    private static final int ITEM_HEIGHT = 96;
+    private static final int SAMPLE_COUNT = 1024;
+
+    @Param({"100", "10000", "1000000"})
+    public int itemCount;
+
+    @Param({"5", "7", "11"})
+    public int visibleItemCount;
+
+    @Param({"false", "true"})
+    public boolean isCyclic;
+
+    private int mHalfDrawnItemCount;
+    private int mDrawnItemCount;
+    private int mSelectedPosition;
+    private int mMinFlingY;
+    private int mMaxFlingY;
+
+    /**
+     * 预先生成的滚动偏移与目标位置，避免基准测试被常量折叠
+     */
+    private int[] mScrollOffsets;
+    private int[] mTargetPositions;
+    private int mIndex;
+
+    @Setup
+    public void setup() {
+        mDrawnItemCount = visibleItemCount + 2;
+        mHalfDrawnItemCount = mDrawnItemCount / 2;
+        mSelectedPosition = itemCount / 2;
+        mMinFlingY = WheelLayout.computeMinFlingY(ITEM_HEIGHT, itemCount, mSelectedPosition, isCyclic);
+        mMaxFlingY = WheelLayout.computeMaxFlingY(ITEM_HEIGHT, mSelectedPosition, isCyclic);
+
+        Random random = new Random(0);
+        int range = Math.min(itemCount / 2, 10000) * ITEM_HEIGHT;
+        mScrollOffsets = new int[SAMPLE_COUNT];
+        mTargetPositions = new int[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            mScrollOffsets[i] = random.nextInt(2 * range + 1) - range;
+            mTargetPositions[i] = random.nextInt(itemCount);
+        }
+    }
+
+    private int nextIndex() {
+        mIndex = (mIndex + 1) & (SAMPLE_COUNT - 1);
+        return mIndex;
+    }
+
+    /**
+     * 单帧布局：计算绘制范围内每一个数据项的数据位置与中心偏移
+     */
+    @Benchmark
+    public void frameLayout(Blackhole blackhole) {
+        int scrollOffsetY = mScrollOffsets[nextIndex()];
+        int firstDrawnPosition = WheelLayout.computeFirstDrawnPosition(scrollOffsetY, ITEM_HEIGHT, mSelectedPosition, mHalfDrawnItemCount);
+        for (int i = 0; i < mDrawnItemCount; i++) {
+            blackhole.consume(WheelLayout.toDataPosition(firstDrawnPosition + i, itemCount, isCyclic));
+            blackhole.consume(WheelLayout.computeItemCenterOffset(i - mHalfDrawnItemCount, scrollOffsetY, ITEM_HEIGHT));
+        }
+    }
+
+    /**
+     * 滚动停止位置校正：计算补偿距离并限制在滑动边界内
+     */
+    @Benchmark
+    public int snapResolution() {
+        int finalY = mScrollOffsets[nextIndex()];
+        finalY += WheelLayout.computeDistanceToEndPoint(finalY % ITEM_HEIGHT, finalY, ITEM_HEIGHT);
+        return Math.max(mMinFlingY, Math.min(mMaxFlingY, finalY));
+    }
+
+    /**
+     * 选中位置计算：根据停止后的滚动偏移计算选中位置，并计算跳转到目标位置的最短路径
+     */
+    @Benchmark
+    public int selectionResolution() {
+        int index = nextIndex();
+        int scrollOffsetY = mScrollOffsets[index] / ITEM_HEIGHT * ITEM_HEIGHT;
+        int position = WheelLayout.computeCurrentPosition(scrollOffsetY, ITEM_HEIGHT, mSelectedPosition, itemCount);
+        return WheelLayout.computeItemDifference(position, mTargetPositions[index], itemCount, isCyclic);
+    }
+}
@@ -0,0 +1,80 @@
+package com.lishuanglong.core;
+
+/**
+ * 指数衰减滚动模型
+ * 速度按时间常数τ指数衰减，以初始速度v0开始的惯性滑动自然滑动距离为v0·τ。对齐后的滑动距离D与之不同时，
+ * 以τ' = D / v0作为本次运动的时间常数，使曲线x(t) = D·(1 - e^(-t/τ'))在保持初始速度的同时恰好收敛到停止
+ * 位置，剩余距离小于{@link #SETTLE_DISTANCE}的时刻τ'·ln(|D| / SETTLE_DISTANCE)即为运动时长
+ * 从静止开始或者停止位置与速度方向相反时，以最小时间常数运动
+ */
+public final class DecayScrollPhysics extends ScrollPhysics {
+
+    /**
+     * 默认时间常数，单位：ms
+     */
+    public static final int DEFAULT_TIME_CONSTANT_MILLIS = 325;
+
+    /**
+     * 默认最小时间常数，单位：ms
+     */
+    public static final int DEFAULT_MIN_TIME_CONSTANT_MILLIS = 60;
+
+    private final double mTimeConstant;
+    private final double mMinTimeConstant;
+
+    /**
+     * 本次运动的距离与时间常数
+     */
+    private double mDistance;
+    private double mCurveTimeConstant;
+
+    public DecayScrollPhysics() {
+        this(DEFAULT_TIME_CONSTANT_MILLIS, DEFAULT_MIN_TIME_CONSTANT_MILLIS);
+    }
+
+    /**
+     * 创建指数衰减滚动模型
+     *
+     * @param timeConstantMillis    时间常数，单位：ms，越大惯性滑动得越远
+     * @param minTimeConstantMillis 最小时间常数，单位：ms，决定对齐和跳转动画的快慢，不能大于时间常数
+     */
+    public DecayScrollPhysics(int timeConstantMillis, int minTimeConstantMillis) {
+        if (minTimeConstantMillis <= 0) {
+            throw new IllegalArgumentException("Min time constant must be greater than 0, but current is " + minTimeConstantMillis);
+        }
+        if (timeConstantMillis < minTimeConstantMillis) {
+            throw new IllegalArgumentException("Time constant " + timeConstantMillis
+                    + " can not be less than min time constant " + minTimeConstantMillis);
+        }
+        mTimeConstant = timeConstantMillis / 1000.0;
+        mMinTimeConstant = minTimeConstantMillis / 1000.0;
+    }
+
+    @Override
+    protected float computeFlingDistance(float velocity) {
+        return (float) (velocity * mTimeConstant);
+    }
+
+    @Override
+    protected long onStart(int distance, float velocity) {
+        mDistance = distance;
+        double timeConstant = distance / (double) velocity;
+        if (velocity == 0 || timeConstant <= 0) {
+            mCurveTimeConstant = mMinTimeConstant;
+        } else {
+            mCurveTimeConstant = Math.max(mMinTimeConstant, Math.min(mTimeConstant, timeConstant));
+        }
+        double remaining = Math.abs(mDistance) / SETTLE_DISTANCE;
+        return remaining <= 1 ? 0 : toNanos(mCurveTimeConstant * Math.log(remaining));
+    }
+
+    @Override
+    protected double getOffset(double seconds) {
+        return mDistance * (1 - Math.exp(-seconds / mCurveTimeConstant));
+    }
+
+    @Override
+    protected double getVelocity(double seconds) {
+        return mDistance / mCurveTimeConstant * Math.exp(-seconds / mCurveTimeConstant);
+    }
+}
@@ -0,0 +1,71 @@
+package com.lishuanglong.core;
+
+/**
+ * 固定时长滚动模型
+ * 每次运动都恰好持续指定的时长T，运动曲线为三次Hermite插值：x(s) = D·(m·(s - 2s² + s³) + 3s² - 2s³)，
+ * 其中s = t / T，m = v0·T / D为归一化的初始斜率，结束时速度为0。m不大于3时曲线单调，因此自然滑动距离取
+ * v0·T / 3，对齐后的距离使m超出[0, 3]时将其截断，以初始速度的少许变化换取不越过停止位置
+ * 适合需要在确定帧数内停止的场景，例如与其他动画同步的联动选择器
+ */
+public final class FixedDurationScrollPhysics extends ScrollPhysics {
+
+    /**
+     * 默认运动时长，单位：ms
+     */
+    public static final int DEFAULT_DURATION_MILLIS = 600;
+
+    /**
+     * 保持曲线单调的最大归一化初始斜率
+     */
+    private static final double MAX_SLOPE = 3;
+
+    private final double mDuration;
+
+    /**
+     * 本次运动的距离与归一化初始斜率
+     */
+    private double mDistance;
+    private double mSlope;
+
+    public FixedDurationScrollPhysics() {
+        this(DEFAULT_DURATION_MILLIS);
+    }
+
+    /**
+     * 创建固定时长滚动模型
+     *
+     * @param durationMillis 运动时长，单位：ms，必须大于0
+     */
+    public FixedDurationScrollPhysics(int durationMillis) {
+        if (durationMillis <= 0) {
+            throw new IllegalArgumentException("Duration must be greater than 0, but current is " + durationMillis);
+        }
+        mDuration = durationMillis / 1000.0;
+    }
+
+    @Override
+    protected float computeFlingDistance(float velocity) {
+        return (float) (velocity * mDuration / MAX_SLOPE);
+    }
+
+    @Override
+    protected long onStart(int distance, float velocity) {
+        mDistance = distance;
+        mSlope = Math.max(0, Math.min(MAX_SLOPE, velocity * mDuration / distance));
+        return toNanos(mDuration);
+    }
+
+    @Override
+    protected double getOffset(double seconds) {
+        double s = seconds / mDuration;
+        double s2 = s * s;
+        double s3 = s2 * s;
+        return mDistance * (mSlope * (s - 2 * s2 + s3) + 3 * s2 - 2 * s3);
+    }
+
+    @Override
+    protected double getVelocity(double seconds) {
+        double s = seconds / mDuration;
+        return mDistance / mDuration * (mSlope * (1 - 4 * s + 3 * s * s) + 6 * s - 6 * s * s);
+    }
+}
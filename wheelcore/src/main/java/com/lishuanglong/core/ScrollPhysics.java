@@ -0,0 +1,221 @@
+package com.lishuanglong.core;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * 滚动物理模型
+ * 惯性滑动开始时一次性确定停止位置：先按模型求出自然滑动距离，再对齐到最近的数据项并限制在滑动边界内，然后
+ * 由子类构造一条恰好在停止位置结束的闭式运动曲线。任意时刻的位置都可以直接由曲线求出，与帧率和掉帧无关，动画
+ * 时长在开始时即已确定，不需要在结束时再以第二段动画校正停止位置
+ * 时间均以纳秒为单位，速度以px/s为单位，位置与{@link WheelLayout}的滚动偏移一致
+ * 实例不是线程安全的，同一实例只能同时驱动一个滚轮，滚轮通过{@link #bind(Object)}保证这一点
+ *
+ * @see DecayScrollPhysics
+ * @see SpringScrollPhysics
+ * @see FixedDurationScrollPhysics
+ */
+public abstract class ScrollPhysics {
+
+    /**
+     * 位置与停止位置的距离小于该值时认为已经停止，单位：px
+     */
+    protected static final double SETTLE_DISTANCE = 0.5;
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private int mStartY;
+    private int mFinalY;
+    private int mCurrY;
+    private long mStartTimeNanos;
+    private long mDurationNanos;
+    private double mCurrVelocity;
+    private boolean isFinished = true;
+
+    /**
+     * 当前驱动的滚轮，以弱引用保存，滚动模型不会阻止滚轮被回收
+     */
+    private WeakReference<Object> mOwner;
+
+    /**
+     * 将实例绑定到指定的滚轮，已经绑定到该滚轮时不做任何处理
+     *
+     * @param owner 滚轮
+     * @throws IllegalStateException 实例已经绑定到其他滚轮
+     */
+    public final void bind(Object owner) {
+        Object current = mOwner == null ? null : mOwner.get();
+        if (current == owner) {
+            return;
+        }
+        if (current != null) {
+            throw new IllegalStateException("Scroll physics is already bound to another wheel, "
+                    + "each wheel needs its own instance");
+        }
+        mOwner = new WeakReference<>(owner);
+    }
+
+    /**
+     * 解除实例与指定滚轮的绑定，没有绑定到该滚轮时不做任何处理
+     *
+     * @param owner 滚轮
+     */
+    public final void unbind(Object owner) {
+        if (mOwner != null && mOwner.get() == owner) {
+            mOwner = null;
+        }
+    }
+
+    /**
+     * 开始惯性滑动，停止位置对齐到数据项并限制在[minY, maxY]内
+     *
+     * @param startY         起始位置
+     * @param velocity       初始速度，单位：px/s
+     * @param minY           最小位置，必须是数据项高度的整数倍
+     * @param maxY           最大位置，必须是数据项高度的整数倍
+     * @param itemHeight     数据项高度，必须大于0
+     * @param startTimeNanos 开始时间
+     */
+    public final void fling(int startY, float velocity, int minY, int maxY, int itemHeight, long startTimeNanos) {
+        if (itemHeight <= 0) {
+            throw new IllegalArgumentException("Item height must be greater than 0, but current is " + itemHeight);
+        }
+        double target = startY + (double) computeFlingDistance(velocity);
+        long finalY = Math.round(target / itemHeight) * itemHeight;
+        finalY = Math.max(minY, Math.min(maxY, finalY));
+        start(startY, (int) finalY, velocity, startTimeNanos);
+    }
+
+    /**
+     * 从静止开始滚动到指定位置
+     *
+     * @param startY         起始位置
+     * @param finalY         停止位置
+     * @param startTimeNanos 开始时间
+     */
+    public final void scrollTo(int startY, int finalY, long startTimeNanos) {
+        start(startY, finalY, 0, startTimeNanos);
+    }
+
+    private void start(int startY, int finalY, float velocity, long startTimeNanos) {
+        mStartY = mCurrY = startY;
+        mFinalY = finalY;
+        mStartTimeNanos = startTimeNanos;
+        mCurrVelocity = velocity;
+        mDurationNanos = startY == finalY ? 0 : Math.max(0, onStart(finalY - startY, velocity));
+        isFinished = false;
+    }
+
+    /**
+     * 计算以指定初始速度开始惯性滑动时，在不考虑对齐和边界的情况下将会滑动的距离
+     *
+     * @param velocity 初始速度，单位：px/s
+     * @return 滑动距离，单位：px，与速度同号
+     */
+    protected abstract float computeFlingDistance(float velocity);
+
+    /**
+     * 构造从起始位置运动distance后停止的曲线
+     *
+     * @param distance 运动距离，单位：px，不为0
+     * @param velocity 初始速度，单位：px/s
+     * @return 运动时长，单位：ns，此后位置恒为停止位置
+     */
+    protected abstract long onStart(int distance, float velocity);
+
+    /**
+     * 计算曲线在指定时刻相对起始位置的偏移
+     *
+     * @param seconds 距开始的时间，单位：s，位于[0, 运动时长)内
+     * @return 相对起始位置的偏移，单位：px
+     */
+    protected abstract double getOffset(double seconds);
+
+    /**
+     * 计算曲线在指定时刻的速度
+     *
+     * @param seconds 距开始的时间，单位：s，位于[0, 运动时长)内
+     * @return 速度，单位：px/s
+     */
+    protected abstract double getVelocity(double seconds);
+
+    /**
+     * 计算指定帧时刻的位置，运动时长已过时位置恰好为停止位置并结束运动
+     *
+     * @param frameTimeNanos 帧时间
+     * @return 运动尚未结束或者本次恰好结束时返回true，此前已经结束时返回false
+     */
+    public final boolean computeScrollOffset(long frameTimeNanos) {
+        if (isFinished) {
+            return false;
+        }
+        long elapsed = frameTimeNanos - mStartTimeNanos;
+        if (elapsed >= mDurationNanos) {
+            mCurrY = mFinalY;
+            mCurrVelocity = 0;
+            isFinished = true;
+        } else if (elapsed > 0) {
+            double seconds = elapsed / NANOS_PER_SECOND;
+            mCurrY = mStartY + (int) Math.round(getOffset(seconds));
+            mCurrVelocity = getVelocity(seconds);
+        }
+        return true;
+    }
+
+    /**
+     * 立即结束运动，位置停留在最近一次计算的位置
+     */
+    public final void abortAnimation() {
+        mCurrVelocity = 0;
+        isFinished = true;
+    }
+
+    public final boolean isFinished() {
+        return isFinished;
+    }
+
+    public final int getStartY() {
+        return mStartY;
+    }
+
+    public final int getFinalY() {
+        return mFinalY;
+    }
+
+    /**
+     * 获取最近一次计算的位置
+     */
+    public final int getCurrY() {
+        return mCurrY;
+    }
+
+    /**
+     * 获取最近一次计算的速度大小，单位：px/s
+     */
+    public final float getCurrVelocity() {
+        return (float) Math.abs(mCurrVelocity);
+    }
+
+    /**
+     * 获取本次运动的时长，单位：ns
+     */
+    public final long getDurationNanos() {
+        return mDurationNanos;
+    }
+
+    /**
+     * 计算本次运动在指定帧间隔下需要的帧数
+     *
+     * @param frameIntervalNanos 帧间隔，单位：ns
+     * @return 帧数
+     */
+    public final int getFrameCount(long frameIntervalNanos) {
+        return (int) ((mDurationNanos + frameIntervalNanos - 1) / frameIntervalNanos);
+    }
+
+    /**
+     * 将秒转换为纳秒，向上取整
+     */
+    protected static long toNanos(double seconds) {
+        return (long) Math.ceil(seconds * NANOS_PER_SECOND);
+    }
+}
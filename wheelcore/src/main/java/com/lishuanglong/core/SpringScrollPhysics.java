@@ -0,0 +1,126 @@
+package com.lishuanglong.core;
+
+/**
+ * 弹簧滚动模型
+ * 以单位质量的阻尼弹簧将滚轮拉向停止位置，固有角频率ω = √stiffness，阻尼比ζ不大于1。以初始速度v0开始的
+ * 惯性滑动自然滑动距离取v0 / ω，此时临界阻尼的弹簧恰好以指数曲线收敛而没有回弹；对齐后的距离与之不同或者
+ * 阻尼比小于1时，滚轮会越过停止位置再弹回，形成弹簧的手感
+ * 偏离停止位置的距离e(t)有闭式解，运动时长取e(t)的包络线小于{@link #SETTLE_DISTANCE}的时刻
+ */
+public final class SpringScrollPhysics extends ScrollPhysics {
+
+    /**
+     * 默认刚度
+     */
+    public static final float DEFAULT_STIFFNESS = 200;
+
+    /**
+     * 默认阻尼比，即临界阻尼
+     */
+    public static final float DEFAULT_DAMPING_RATIO = 1;
+
+    /**
+     * 临界阻尼下搜索运动时长的步长，单位：s
+     */
+    private static final double SETTLE_SEARCH_STEP = 0.001;
+
+    /**
+     * 运动时长的上限，单位：s
+     */
+    private static final double MAX_DURATION = 10;
+
+    private final double mNaturalFrequency;
+    private final double mDampingRatio;
+
+    /**
+     * 本次运动的距离以及偏离停止位置的距离e(t)的系数
+     * 临界阻尼：e(t) = (e0 + B·t)·e^(-ωt)
+     * 欠阻尼：e(t) = e^(-ζωt)·(e0·cos(ωd·t) + C·sin(ωd·t))
+     */
+    private double mDistance;
+    private double mE0;
+    private double mB;
+    private double mC;
+    private double mDampedFrequency;
+
+    public SpringScrollPhysics() {
+        this(DEFAULT_STIFFNESS, DEFAULT_DAMPING_RATIO);
+    }
+
+    /**
+     * 创建弹簧滚动模型
+     *
+     * @param stiffness    刚度，必须大于0，越大运动越快
+     * @param dampingRatio 阻尼比，位于(0, 1]内，越小回弹越明显
+     */
+    public SpringScrollPhysics(float stiffness, float dampingRatio) {
+        if (stiffness <= 0) {
+            throw new IllegalArgumentException("Stiffness must be greater than 0, but current is " + stiffness);
+        }
+        if (dampingRatio <= 0 || dampingRatio > 1) {
+            throw new IllegalArgumentException("Damping ratio must be in (0, 1], but current is " + dampingRatio);
+        }
+        mNaturalFrequency = Math.sqrt(stiffness);
+        mDampingRatio = dampingRatio;
+    }
+
+    @Override
+    protected float computeFlingDistance(float velocity) {
+        return (float) (velocity / mNaturalFrequency);
+    }
+
+    @Override
+    protected long onStart(int distance, float velocity) {
+        double w = mNaturalFrequency;
+        mDistance = distance;
+        mE0 = -distance;
+        if (mDampingRatio == 1) {
+            mB = velocity + w * mE0;
+            // 包络线(|e0| + |B|·t)·e^(-ωt)先增后减且不小于|e0|·e^(-ωt)，从峰值与后者降到阈值的时刻中较晚者开始搜索
+            double a = Math.abs(mE0);
+            double b = Math.abs(mB);
+            double t = Math.max(b > w * a ? 1 / w - a / b : 0, Math.log(Math.max(a, SETTLE_DISTANCE) / SETTLE_DISTANCE) / w);
+            while (t < MAX_DURATION && (a + b * t) * Math.exp(-w * t) >= SETTLE_DISTANCE) {
+                t += SETTLE_SEARCH_STEP;
+            }
+            return toNanos(Math.min(t, MAX_DURATION));
+        }
+        double decay = mDampingRatio * w;
+        mDampedFrequency = w * Math.sqrt(1 - mDampingRatio * mDampingRatio);
+        mC = (velocity + decay * mE0) / mDampedFrequency;
+        double amplitude = Math.hypot(mE0, mC);
+        if (amplitude < SETTLE_DISTANCE) {
+            return 0;
+        }
+        return toNanos(Math.min(Math.log(amplitude / SETTLE_DISTANCE) / decay, MAX_DURATION));
+    }
+
+    @Override
+    protected double getOffset(double seconds) {
+        return mDistance + error(seconds);
+    }
+
+    @Override
+    protected double getVelocity(double seconds) {
+        double w = mNaturalFrequency;
+        if (mDampingRatio == 1) {
+            return Math.exp(-w * seconds) * (mB - w * (mE0 + mB * seconds));
+        }
+        double decay = mDampingRatio * w;
+        double cos = Math.cos(mDampedFrequency * seconds);
+        double sin = Math.sin(mDampedFrequency * seconds);
+        return Math.exp(-decay * seconds) * (-decay * (mE0 * cos + mC * sin)
+                + mDampedFrequency * (mC * cos - mE0 * sin));
+    }
+
+    /**
+     * 计算偏离停止位置的距离e(t)
+     */
+    private double error(double seconds) {
+        if (mDampingRatio == 1) {
+            return (mE0 + mB * seconds) * Math.exp(-mNaturalFrequency * seconds);
+        }
+        double phase = mDampedFrequency * seconds;
+        return Math.exp(-mDampingRatio * mNaturalFrequency * seconds) * (mE0 * Math.cos(phase) + mC * Math.sin(phase));
+    }
+}
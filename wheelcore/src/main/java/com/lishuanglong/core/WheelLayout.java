@@ -0,0 +1,218 @@
+package com.lishuanglong.core;
+
+/**
+ * 滚轮选择器布局计算
+ * 滚轮选择器中与平台无关的位置计算，包括滑动边界、停止位置校正、选中位置以及每一帧需要绘制的数据项范围，
+ * 不依赖Android，可以直接在JVM上测试和基准测试
+ * 滚轮的滚动偏移以基准数据项为原点，偏移为正表示滚轮向下滚动，即显示基准数据项之前的数据项。滚轮每次静止
+ * 时都会把基准数据项移动到当前数据项上并将偏移归零，因此偏移只取决于单次滚动的距离，与数据项数量无关
+ */
+public final class WheelLayout {
+
+    /**
+     * 滚动偏移的上下限，预留一半的整数范围以保证在此基础上补偿停止位置时不会溢出
+     */
+    public static final int MAX_SCROLL_OFFSET = Integer.MAX_VALUE / 2;
+
+    private WheelLayout() {
+    }
+
+    /**
+     * 计算滚轮滑动时可以滑动到的最小Y坐标
+     * 数据项数量与数据项高度的乘积可能超出int的范围，计算结果会被限制在{@link #MAX_SCROLL_OFFSET}以内
+     *
+     * @param itemHeight       数据项高度
+     * @param itemCount        数据项数量
+     * @param selectedPosition 当前被选中的数据项位置
+     * @param isCyclic         是否循环
+     * @return 最小Y坐标
+     */
+    public static int computeMinFlingY(int itemHeight, int itemCount, int selectedPosition, boolean isCyclic) {
+        if (isCyclic) {
+            return -MAX_SCROLL_OFFSET;
+        }
+        return clampScrollOffset(-(long) itemHeight * (itemCount - 1 - selectedPosition));
+    }
+
+    /**
+     * 计算滚轮滑动时可以滑动到的最大Y坐标
+     *
+     * @param itemHeight       数据项高度
+     * @param selectedPosition 当前被选中的数据项位置
+     * @param isCyclic         是否循环
+     * @return 最大Y坐标
+     */
+    public static int computeMaxFlingY(int itemHeight, int selectedPosition, boolean isCyclic) {
+        if (isCyclic) {
+            return MAX_SCROLL_OFFSET;
+        }
+        return clampScrollOffset((long) itemHeight * selectedPosition);
+    }
+
+    /**
+     * 将滚动偏移限制在{@link #MAX_SCROLL_OFFSET}以内
+     */
+    private static int clampScrollOffset(long scrollOffsetY) {
+        return (int) Math.max(-MAX_SCROLL_OFFSET, Math.min(MAX_SCROLL_OFFSET, scrollOffsetY));
+    }
+
+    /**
+     * 将滚动偏移中完整的数据项移入基准位置后计算新的基准位置，新的滚动偏移为scrollOffsetY % itemHeight
+     * 两者组合后绘制的数据项和当前数据项都与原来完全相同，循环状态下新的基准位置还会被规整到数据源范围内
+     *
+     * @param scrollOffsetY  滚动偏移
+     * @param itemHeight     数据项高度
+     * @param anchorPosition 基准数据项位置
+     * @param itemCount      数据项数量
+     * @param isCyclic       是否循环
+     * @return 新的基准数据项位置
+     */
+    public static int computeRebasedAnchor(int scrollOffsetY, int itemHeight, int anchorPosition, int itemCount, boolean isCyclic) {
+        int position = anchorPosition - scrollOffsetY / itemHeight;
+        return isCyclic ? toDataPosition(position, itemCount, true) : position;
+    }
+
+    /**
+     * 计算滚动停止时需要补偿的距离，使滚轮停止时恰好有一个数据项位于中心
+     *
+     * @param remainder     滚动偏移对数据项高度取余的值
+     * @param scrollOffsetY 当前滚动偏移
+     * @param itemHeight    数据项高度
+     * @return 需要补偿的距离
+     */
+    public static int computeDistanceToEndPoint(int remainder, int scrollOffsetY, int itemHeight) {
+        if (Math.abs(remainder) > itemHeight / 2) {
+            if (scrollOffsetY < 0) {
+                return -itemHeight - remainder;
+            } else {
+                return itemHeight - remainder;
+            }
+        } else {
+            return -remainder;
+        }
+    }
+
+    /**
+     * 根据滚动偏移计算当前位于滚轮中心的数据项位置
+     *
+     * @param scrollOffsetY    滚动偏移，必须是数据项高度的整数倍
+     * @param itemHeight       数据项高度
+     * @param selectedPosition 当前被选中的数据项位置
+     * @param itemCount        数据项数量
+     * @return 数据项位置，没有数据项时返回-1
+     */
+    public static int computeCurrentPosition(int scrollOffsetY, int itemHeight, int selectedPosition, int itemCount) {
+        if (itemCount <= 0) {
+            return -1;
+        }
+        int position = (-scrollOffsetY / itemHeight + selectedPosition) % itemCount;
+        return position < 0 ? position + itemCount : position;
+    }
+
+    /**
+     * 计算本帧绘制的第一个数据项的位置，该位置未经过循环或越界处理
+     *
+     * @param scrollOffsetY      滚动偏移
+     * @param itemHeight         数据项高度
+     * @param selectedPosition   当前被选中的数据项位置
+     * @param halfDrawnItemCount 绘制数据项数量的一半
+     * @return 第一个绘制的数据项位置
+     */
+    public static int computeFirstDrawnPosition(int scrollOffsetY, int itemHeight, int selectedPosition, int halfDrawnItemCount) {
+        return -scrollOffsetY / itemHeight - halfDrawnItemCount + selectedPosition;
+    }
+
+    /**
+     * 将绘制位置转换为数据项在数据源中的位置
+     *
+     * @param drawnPosition 绘制位置
+     * @param itemCount     数据项数量
+     * @param isCyclic      是否循环
+     * @return 数据项位置，非循环状态下越界或者没有数据项时返回-1
+     */
+    public static int toDataPosition(int drawnPosition, int itemCount, boolean isCyclic) {
+        if (itemCount <= 0) {
+            return -1;
+        }
+        if (isCyclic) {
+            int position = drawnPosition % itemCount;
+            return position < 0 ? position + itemCount : position;
+        }
+        return drawnPosition >= 0 && drawnPosition < itemCount ? drawnPosition : -1;
+    }
+
+    /**
+     * 计算绘制的数据项中心相对滚轮中心的偏移
+     *
+     * @param drawnOffsetPos 数据项相对中心数据项的序号，中心数据项为0
+     * @param scrollOffsetY  滚动偏移
+     * @param itemHeight     数据项高度
+     * @return 数据项中心相对滚轮中心的偏移
+     */
+    public static int computeItemCenterOffset(int drawnOffsetPos, int scrollOffsetY, int itemHeight) {
+        return drawnOffsetPos * itemHeight + scrollOffsetY % itemHeight;
+    }
+
+    /**
+     * 计算从一个数据项滚动到另一个数据项需要经过的数据项数量，循环状态下取最短路径
+     *
+     * @param from      起始数据项位置
+     * @param to        目标数据项位置
+     * @param itemCount 数据项数量
+     * @param isCyclic  是否循环
+     * @return 需要经过的数据项数量，为正表示向后滚动
+     */
+    public static int computeItemDifference(int from, int to, int itemCount, boolean isCyclic) {
+        int itemDifference = to - from;
+        if (isCyclic && Math.abs(itemDifference) > (itemCount / 2)) {
+            itemDifference += (itemDifference > 0) ? -itemCount : itemCount;
+        }
+        return itemDifference;
+    }
+
+    /**
+     * 计算插入若干个数据项后原有位置的新位置，插入位置不晚于原有位置时原有位置随之后移
+     *
+     * @param position      原有位置，为-1时表示没有位置
+     * @param positionStart 第一个插入的数据项位置
+     * @param itemCount     插入的数据项数量
+     * @return 新位置
+     */
+    public static int shiftForInsert(int position, int positionStart, int itemCount) {
+        return position >= 0 && position >= positionStart ? position + itemCount : position;
+    }
+
+    /**
+     * 计算删除若干个数据项后原有位置的新位置，原有位置在删除范围之后时随之前移，被删除时移到删除范围之后的
+     * 第一个数据项，即positionStart，该位置可能越过新数据的末尾，需要由调用者限制
+     *
+     * @param position      原有位置，为-1时表示没有位置
+     * @param positionStart 第一个删除的数据项位置
+     * @param itemCount     删除的数据项数量
+     * @return 新位置
+     */
+    public static int shiftForRemove(int position, int positionStart, int itemCount) {
+        if (position >= positionStart + itemCount) {
+            return position - itemCount;
+        }
+        return position >= positionStart ? positionStart : position;
+    }
+
+    /**
+     * 计算跳转时可以直接跳过而不需要动画滚动的数据项数量
+     * 跳转距离超过seekItemCount个数据项时，直接跳到距目标seekItemCount个数据项的位置，只以动画滚动最后的
+     * seekItemCount个数据项，使跳转动画的时长与跳转距离无关
+     *
+     * @param itemDifference 需要经过的数据项数量，为正表示向后滚动
+     * @param seekItemCount  动画滚动的最大数据项数量
+     * @return 直接跳过的数据项数量，与itemDifference同号，不需要跳过时为0
+     */
+    public static int computeSeekJump(int itemDifference, int seekItemCount) {
+        if (itemDifference > seekItemCount) {
+            return itemDifference - seekItemCount;
+        } else if (itemDifference < -seekItemCount) {
+            return itemDifference + seekItemCount;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,131 @@
+package com.lishuanglong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ScrollPhysics}单元测试
+ */
+public class ScrollPhysicsTest {
+
+    private static final int ITEM_HEIGHT = 96;
+    private static final long FRAME_NANOS = 16666667;
+
+    private static ScrollPhysics[] allPhysics() {
+        return new ScrollPhysics[]{
+                new DecayScrollPhysics(),
+                new SpringScrollPhysics(),
+                new SpringScrollPhysics(400, 0.6F),
+                new FixedDurationScrollPhysics()
+        };
+    }
+
+    @Test
+    public void fling_landsOnItemWithinLimits() {
+        for (ScrollPhysics physics : allPhysics()) {
+            physics.fling(37, 4000, -960, 960, ITEM_HEIGHT, 0);
+            assertEquals(0, physics.getFinalY() % ITEM_HEIGHT);
+            assertTrue(physics.getFinalY() > 37);
+
+            physics.fling(37, 100000, -960, 960, ITEM_HEIGHT, 0);
+            assertEquals(960, physics.getFinalY());
+            physics.fling(37, -100000, -960, 960, ITEM_HEIGHT, 0);
+            assertEquals(-960, physics.getFinalY());
+        }
+    }
+
+    @Test
+    public void fling_settlesExactlyAfterDuration() {
+        for (ScrollPhysics physics : allPhysics()) {
+            physics.fling(-20, -6000, -WheelLayout.MAX_SCROLL_OFFSET, WheelLayout.MAX_SCROLL_OFFSET, ITEM_HEIGHT, 1000);
+            long end = 1000 + physics.getDurationNanos();
+            int frames = 0;
+            for (long time = 1000 + FRAME_NANOS; physics.computeScrollOffset(time); time += FRAME_NANOS) {
+                frames++;
+                assertEquals(time >= end, physics.isFinished());
+            }
+            assertEquals(physics.getFrameCount(FRAME_NANOS), frames);
+            assertEquals(physics.getFinalY(), physics.getCurrY());
+        }
+    }
+
+    @Test
+    public void position_canBeEvaluatedAtAnyFrameTime() {
+        for (ScrollPhysics physics : allPhysics()) {
+            physics.scrollTo(0, 10 * ITEM_HEIGHT, 0);
+            long half = physics.getDurationNanos() / 2;
+            physics.computeScrollOffset(half);
+            int skipped = physics.getCurrY();
+
+            physics.scrollTo(0, 10 * ITEM_HEIGHT, 0);
+            for (long time = FRAME_NANOS; time < half; time += FRAME_NANOS) {
+                physics.computeScrollOffset(time);
+            }
+            physics.computeScrollOffset(half);
+            assertEquals(skipped, physics.getCurrY());
+        }
+    }
+
+    @Test
+    public void decayAndFixedDuration_neverOvershoot() {
+        ScrollPhysics[] monotonic = {new DecayScrollPhysics(), new FixedDurationScrollPhysics()};
+        for (ScrollPhysics physics : monotonic) {
+            physics.fling(0, 3000, -9600, 9600, ITEM_HEIGHT, 0);
+            int last = 0;
+            for (long time = FRAME_NANOS; physics.computeScrollOffset(time); time += FRAME_NANOS) {
+                assertTrue(physics.getCurrY() >= last);
+                assertTrue(physics.getCurrY() <= physics.getFinalY());
+                last = physics.getCurrY();
+            }
+        }
+    }
+
+    @Test
+    public void decay_keepsInitialVelocity() {
+        DecayScrollPhysics physics = new DecayScrollPhysics();
+        physics.fling(0, 3000, -9600, 9600, ITEM_HEIGHT, 0);
+        physics.computeScrollOffset(1);
+        assertEquals(3000, physics.getCurrVelocity(), 3000 * 0.05);
+    }
+
+    @Test
+    public void abort_keepsLastPosition() {
+        ScrollPhysics physics = new DecayScrollPhysics();
+        physics.scrollTo(0, 960, 0);
+        physics.computeScrollOffset(FRAME_NANOS);
+        int position = physics.getCurrY();
+        physics.abortAnimation();
+        assertTrue(physics.isFinished());
+        assertFalse(physics.computeScrollOffset(2 * FRAME_NANOS));
+        assertEquals(position, physics.getCurrY());
+    }
+
+    @Test
+    public void scrollToSamePosition_finishesOnFirstFrame() {
+        ScrollPhysics physics = new SpringScrollPhysics();
+        physics.scrollTo(192, 192, 0);
+        assertEquals(0, physics.getDurationNanos());
+        assertTrue(physics.computeScrollOffset(FRAME_NANOS));
+        assertTrue(physics.isFinished());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void bind_rejectsSecondWheel() {
+        ScrollPhysics physics = new DecayScrollPhysics();
+        physics.bind(new Object());
+        physics.bind(new Object());
+    }
+
+    @Test
+    public void unbind_allowsAnotherWheel() {
+        ScrollPhysics physics = new DecayScrollPhysics();
+        Object first = new Object();
+        physics.bind(first);
+        physics.bind(first);
+        physics.unbind(first);
+        physics.bind(new Object());
+    }
+}
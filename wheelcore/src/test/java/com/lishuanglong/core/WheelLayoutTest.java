@@ -0,0 +1,91 @@
+package com.lishuanglong.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link WheelLayout}单元测试
+ */
+public class WheelLayoutTest {
+
+    @Test
+    public void flingLimits_areRelativeToSelectedItem() {
+        assertEquals(-100 * 6, WheelLayout.computeMinFlingY(100, 10, 3, false));
+        assertEquals(100 * 3, WheelLayout.computeMaxFlingY(100, 3, false));
+        assertEquals(-WheelLayout.MAX_SCROLL_OFFSET, WheelLayout.computeMinFlingY(100, 10, 3, true));
+        assertEquals(WheelLayout.MAX_SCROLL_OFFSET, WheelLayout.computeMaxFlingY(100, 3, true));
+    }
+
+    @Test
+    public void flingLimits_doNotOverflowForHugeData() {
+        assertEquals(-WheelLayout.MAX_SCROLL_OFFSET, WheelLayout.computeMinFlingY(120, 50000000, 0, false));
+        assertEquals(WheelLayout.MAX_SCROLL_OFFSET, WheelLayout.computeMaxFlingY(120, 49999999, false));
+        assertEquals(-120 * 5, WheelLayout.computeMinFlingY(120, 50000000, 49999994, false));
+    }
+
+    @Test
+    public void rebasedAnchor_keepsCurrentPosition() {
+        assertEquals(5, WheelLayout.computeRebasedAnchor(-230, 100, 3, 10, false));
+        assertEquals(WheelLayout.computeCurrentPosition(-200, 100, 3, 10),
+                WheelLayout.computeCurrentPosition(0, 100, WheelLayout.computeRebasedAnchor(-200, 100, 3, 10, false), 10));
+        assertEquals(1, WheelLayout.computeRebasedAnchor(-800, 100, 3, 10, true));
+        assertEquals(7, WheelLayout.computeRebasedAnchor(600, 100, 3, 10, true));
+    }
+
+    @Test
+    public void seekJump_leavesOnlyLastItemsToAnimate() {
+        assertEquals(0, WheelLayout.computeSeekJump(8, 10));
+        assertEquals(499990, WheelLayout.computeSeekJump(500000, 10));
+        assertEquals(-499990, WheelLayout.computeSeekJump(-500000, 10));
+    }
+
+    @Test
+    public void distanceToEndPoint_snapsToNearestItem() {
+        assertEquals(-30, WheelLayout.computeDistanceToEndPoint(30, 230, 100));
+        assertEquals(40, WheelLayout.computeDistanceToEndPoint(60, 260, 100));
+        assertEquals(-40, WheelLayout.computeDistanceToEndPoint(-60, -260, 100));
+    }
+
+    @Test
+    public void currentPosition_wrapsAroundItemCount() {
+        assertEquals(5, WheelLayout.computeCurrentPosition(-200, 100, 3, 10));
+        assertEquals(9, WheelLayout.computeCurrentPosition(400, 100, 3, 10));
+    }
+
+    @Test
+    public void dataPosition_isOutOfRangeOnlyWhenNotCyclic() {
+        assertEquals(-1, WheelLayout.toDataPosition(-1, 10, false));
+        assertEquals(9, WheelLayout.toDataPosition(-1, 10, true));
+        assertEquals(0, WheelLayout.toDataPosition(10, 10, true));
+    }
+
+    @Test
+    public void insert_shiftsPositionsAtOrAfterStart() {
+        assertEquals(7, WheelLayout.shiftForInsert(5, 5, 2));
+        assertEquals(4, WheelLayout.shiftForInsert(4, 5, 2));
+        assertEquals(-1, WheelLayout.shiftForInsert(-1, 0, 2));
+    }
+
+    @Test
+    public void remove_shiftsFollowingAndCollapsesRemovedPositions() {
+        assertEquals(5, WheelLayout.shiftForRemove(8, 3, 3));
+        assertEquals(3, WheelLayout.shiftForRemove(4, 3, 3));
+        assertEquals(2, WheelLayout.shiftForRemove(2, 3, 3));
+        assertEquals(-1, WheelLayout.shiftForRemove(-1, 0, 3));
+    }
+
+    @Test
+    public void emptyData_hasNoPosition() {
+        assertEquals(-1, WheelLayout.toDataPosition(3, 0, true));
+        assertEquals(-1, WheelLayout.toDataPosition(0, 0, false));
+        assertEquals(-1, WheelLayout.computeCurrentPosition(0, 100, -1, 0));
+    }
+
+    @Test
+    public void itemDifference_takesShortestPathWhenCyclic() {
+        assertEquals(8, WheelLayout.computeItemDifference(1, 9, 10, false));
+        assertEquals(-2, WheelLayout.computeItemDifference(1, 9, 10, true));
+        assertEquals(2, WheelLayout.computeItemDifference(9, 1, 10, true));
+    }
+}
@@ -0,0 +1,76 @@
+package com.lishuanglong.view;
+
+import android.graphics.Paint;
+
+/**
+ * 联动选择器适配器
+ * 联动选择器中每一列的数据都由它前面各列的选中位置决定，例如日期选择器中日的数量取决于年和月，地区选择器中
+ * 的城市取决于省份。适配器根据前面各列的选中位置给出每一列的数据项数量和数据项
+ * 参数selections是联动选择器内部的选中位置数组，其中只有下标小于column的元素对该列有意义，某一列没有数据项
+ * 时对应的元素为-1，适配器不能修改或持有该数组
+ */
+public abstract class LinkedPickerAdapter {
+
+    /**
+     * 获取列数，联动选择器设置适配器后列数不再改变
+     *
+     * @return 列数
+     */
+    public abstract int getColumnCount();
+
+    /**
+     * 获取指定列的数据项数量
+     *
+     * @param column     列
+     * @param selections 各列当前选中的位置
+     * @return 数据项数量
+     */
+    public abstract int getItemCount(int column, int[] selections);
+
+    /**
+     * 获取指定列指定位置的数据项
+     *
+     * @param column     列
+     * @param selections 各列当前选中的位置
+     * @param position   数据项位置
+     * @return 数据项
+     */
+    public abstract Object getItem(int column, int[] selections, int position);
+
+    /**
+     * 获取指定列指定位置数据项的文本，默认为数据项的字符串形式
+     *
+     * @param column     列
+     * @param selections 各列当前选中的位置
+     * @param position   数据项位置
+     * @return 数据项文本
+     */
+    public CharSequence getLabel(int column, int[] selections, int position) {
+        return String.valueOf(getItem(column, selections, position));
+    }
+
+    /**
+     * 获取指定列最宽文本的宽度，默认返回-1表示无法直接给出，此时联动选择器会在每次联动更新时测量该列全部数据项，
+     * 列宽只增不减
+     * 能够给出宽度时，例如日期中的日总是两位数字，联动更新时就不需要测量任何文本
+     *
+     * @param column     列
+     * @param selections 各列当前选中的位置
+     * @param paint      绘制数据项文本所用的画笔
+     * @return 最宽文本的宽度，无法给出时返回-1
+     */
+    public int getMaximumWidth(int column, int[] selections, Paint paint) {
+        return -1;
+    }
+
+    /**
+     * 指定列的数据是否只有数量依赖前面各列的选中位置，默认为false
+     * 返回true时，前面的列改变选中位置后只有该列数据项数量改变才会通知该列更新，例如日期中的日
+     *
+     * @param column 列
+     * @return 是否只有数据项数量依赖前面各列
+     */
+    public boolean isCountOnlyDependent(int column) {
+        return false;
+    }
+}
@@ -0,0 +1,332 @@
+package com.lishuanglong.view;
+
+import android.content.Context;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.support.annotation.Nullable;
+import android.util.AttributeSet;
+import android.widget.LinearLayout;
+
+import com.lishuanglong.widget.OnItemSelectedListener;
+import com.lishuanglong.widget.WheelDataProvider;
+import com.lishuanglong.widget.WheelView;
+
+/**
+ * 联动滚轮选择器
+ * 由若干个水平排列的{@link WheelView}组成，每一列的数据都由{@link LinkedPickerAdapter}根据它前面各列的选中
+ * 位置给出，例如年月日或者省市区选择器
+ * 某一列的选中位置改变后，其后各列不会重新设置数据源，而是通过{@link WheelView#notifyDataSetChanged()}增量
+ * 更新：仍然有效的选中位置保持不变，文本宽度没有改变时不会重新布局，只有数据项数量改变的列（例如日期中的日）
+ * 在数量不变时甚至不会被通知
+ * 各列的{@link OnItemSelectedListener}由联动选择器使用，不能再为各列设置该监听器，请使用
+ * {@link #setOnSelectionChangedListener(OnLinkedSelectionChangedListener)}
+ */
+public class LinkedWheelPicker extends LinearLayout {
+
+    private LinkedPickerAdapter mAdapter;
+
+    /**
+     * 各列滚轮选择器及其数据提供者
+     */
+    private WheelView[] mColumns = new WheelView[0];
+    private ColumnDataProvider[] mProviders = new ColumnDataProvider[0];
+
+    /**
+     * 各列当前选中的位置，列中没有数据项时为-1
+     */
+    private int[] mSelections = new int[0];
+
+    private OnLinkedSelectionChangedListener mOnSelectionChangedListener;
+
+    public LinkedWheelPicker(Context context) {
+        this(context, null);
+    }
+
+    public LinkedWheelPicker(Context context, @Nullable AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public LinkedWheelPicker(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        setOrientation(HORIZONTAL);
+    }
+
+    /**
+     * 设置适配器，联动选择器会按适配器给出的列数重新创建各列，各列初始选中第一个数据项
+     *
+     * @param adapter 适配器
+     */
+    public void setAdapter(LinkedPickerAdapter adapter) {
+        if (adapter == null) {
+            throw new NullPointerException("LinkedWheelPicker's adapter can not be null!");
+        }
+        mAdapter = adapter;
+        int columnCount = adapter.getColumnCount();
+
+        removeAllViews();
+        mColumns = new WheelView[columnCount];
+        mProviders = new ColumnDataProvider[columnCount];
+        mSelections = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            WheelView column = onCreateColumn(i);
+            column.setOnItemSelectedListener(new ColumnSelectedListener(i));
+            mColumns[i] = column;
+            mProviders[i] = new ColumnDataProvider(adapter, i);
+            addView(column, new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT, 1));
+        }
+
+        // 前面各列的选中位置确定后才能得到后面一列的数据
+        for (int i = 0; i < columnCount; i++) {
+            mProviders[i].refresh(mSelections);
+            mColumns[i].setDataProvider(mProviders[i]);
+            mSelections[i] = mColumns[i].getCurrentItemPosition();
+        }
+    }
+
+    public LinkedPickerAdapter getAdapter() {
+        return mAdapter;
+    }
+
+    /**
+     * 创建指定列的滚轮选择器，子类可以重写该方法以定制各列的样式
+     *
+     * @param column 列
+     * @return 滚轮选择器
+     */
+    protected WheelView onCreateColumn(int column) {
+        return new WheelView(getContext());
+    }
+
+    /**
+     * 获取列数
+     *
+     * @return 列数，没有设置适配器时为0
+     */
+    public int getColumnCount() {
+        return mColumns.length;
+    }
+
+    /**
+     * 获取指定列的滚轮选择器，可以用来设置各列的样式
+     *
+     * @param column 列
+     * @return 滚轮选择器
+     */
+    public WheelView getColumn(int column) {
+        return mColumns[column];
+    }
+
+    /**
+     * 获取指定列当前选中的位置
+     *
+     * @param column 列
+     * @return 选中的位置，列中没有数据项时为-1
+     */
+    public int getSelection(int column) {
+        return mSelections[column];
+    }
+
+    /**
+     * 获取各列当前选中的位置
+     *
+     * @return 各列选中位置的副本
+     */
+    public int[] getSelections() {
+        return mSelections.clone();
+    }
+
+    /**
+     * 获取指定列当前选中的数据项
+     *
+     * @param column 列
+     * @return 选中的数据项，列中没有数据项时为null
+     */
+    public Object getSelectedItem(int column) {
+        int position = mSelections[column];
+        return position < 0 ? null : mAdapter.getItem(column, mSelections, position);
+    }
+
+    /**
+     * 无动画地设置指定列的选中位置，其后各列随之联动更新
+     * 与用户滚动不同，该方法不会回调{@link OnLinkedSelectionChangedListener}
+     *
+     * @param column   列
+     * @param position 选中的位置
+     */
+    public void setSelection(int column, int position) {
+        mColumns[column].setSelectedItemPosition(position, false);
+        mSelections[column] = mColumns[column].getCurrentItemPosition();
+        updateColumnsAfter(column);
+    }
+
+    /**
+     * 无动画地从第一列开始依次设置各列的选中位置，每一列都会先根据前面各列的新位置更新数据再设置选中位置
+     * 与用户滚动不同，该方法不会回调{@link OnLinkedSelectionChangedListener}
+     *
+     * @param positions 各列的选中位置，数量少于列数时后面各列保持原有位置
+     */
+    public void setSelections(int... positions) {
+        for (int i = 0; i < mColumns.length; i++) {
+            if (i > 0) {
+                updateColumn(i);
+            }
+            if (i < positions.length) {
+                mColumns[i].setSelectedItemPosition(positions[i], false);
+            }
+            mSelections[i] = mColumns[i].getCurrentItemPosition();
+        }
+    }
+
+    /**
+     * 通知联动选择器适配器的数据已经改变，所有列都会根据当前的选中位置增量更新
+     */
+    public void notifyDataSetChanged() {
+        for (int i = 0; i < mColumns.length; i++) {
+            mProviders[i].invalidateWidth();
+            mProviders[i].refresh(mSelections);
+            mColumns[i].notifyDataSetChanged();
+            mSelections[i] = mColumns[i].getCurrentItemPosition();
+        }
+    }
+
+    public void setOnSelectionChangedListener(OnLinkedSelectionChangedListener listener) {
+        mOnSelectionChangedListener = listener;
+    }
+
+    /**
+     * 依次更新指定列之后的各列，后一列总是在前一列的选中位置确定之后才更新
+     */
+    private void updateColumnsAfter(int column) {
+        for (int i = column + 1; i < mColumns.length; i++) {
+            updateColumn(i);
+            mSelections[i] = mColumns[i].getCurrentItemPosition();
+        }
+    }
+
+    /**
+     * 根据前面各列的选中位置更新指定列的数据
+     */
+    private void updateColumn(int column) {
+        ColumnDataProvider provider = mProviders[column];
+        int oldItemCount = provider.getItemCount();
+        provider.refresh(mSelections);
+        if (mAdapter.isCountOnlyDependent(column) && provider.getItemCount() == oldItemCount) {
+            return;
+        }
+        mColumns[column].notifyDataSetChanged();
+    }
+
+    /**
+     * 某一列因用户滚动而选中新的数据项时联动更新其后各列
+     */
+    private final class ColumnSelectedListener implements OnItemSelectedListener {
+        private final int mColumn;
+
+        ColumnSelectedListener(int column) {
+            mColumn = column;
+        }
+
+        @Override
+        public void onItemSelected(WheelView picker, Object data, int position) {
+            if (mSelections[mColumn] == position) {
+                return;
+            }
+            mSelections[mColumn] = position;
+            updateColumnsAfter(mColumn);
+            if (mOnSelectionChangedListener != null) {
+                mOnSelectionChangedListener.onSelectionChanged(LinkedWheelPicker.this, mColumn, mSelections);
+            }
+        }
+    }
+
+    /**
+     * 单列的数据提供者
+     * 数据项数量在每次联动更新时从适配器读取一次并缓存，滚轮选择器每一帧查询数据项数量时不会访问适配器
+     * 适配器无法给出最宽文本的宽度时测量该列全部数据项，并且在文本尺寸和字体不变的情况下列宽只增不减，滚入的
+     * 较宽文本不会被裁剪，联动更新也不会使列宽来回变化而反复重新布局
+     * 测量结果按该列的数据（即前面各列的选中位置）、文本尺寸和字体缓存，只有其中之一改变或者适配器数据改变后
+     * 才会重新测量，布局过程中的多次查询不会重复测量
+     */
+    private static final class ColumnDataProvider implements WheelDataProvider {
+        private final LinkedPickerAdapter mAdapter;
+        private final int mColumn;
+        private int[] mSelections;
+        private int mItemCount;
+
+        /**
+         * 测量得到的最大宽度以及测量所用的文本尺寸和字体
+         */
+        private int mMaxWidth;
+        private float mTextSize;
+        private Typeface mTypeface;
+
+        /**
+         * 测量最大宽度时前面各列的选中位置，以及测量结果是否仍然有效
+         */
+        private final int[] mMeasuredSelections;
+        private boolean isWidthValid;
+
+        ColumnDataProvider(LinkedPickerAdapter adapter, int column) {
+            mAdapter = adapter;
+            mColumn = column;
+            mMeasuredSelections = new int[column];
+        }
+
+        void refresh(int[] selections) {
+            mSelections = selections;
+            mItemCount = mAdapter.getItemCount(mColumn, selections);
+            for (int i = 0; i < mColumn; i++) {
+                if (mMeasuredSelections[i] != selections[i]) {
+                    isWidthValid = false;
+                    break;
+                }
+            }
+        }
+
+        /**
+         * 适配器数据改变后使测量结果失效
+         */
+        void invalidateWidth() {
+            isWidthValid = false;
+        }
+
+        @Override
+        public int getItemCount() {
+            return mItemCount;
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return mAdapter.getItem(mColumn, mSelections, position);
+        }
+
+        @Override
+        public CharSequence getLabel(int position) {
+            return mAdapter.getLabel(mColumn, mSelections, position);
+        }
+
+        @Override
+        public int getMaximumWidth(Paint paint) {
+            int width = mAdapter.getMaximumWidth(mColumn, mSelections, paint);
+            if (width >= 0) {
+                return width;
+            }
+            if (mTextSize != paint.getTextSize() || mTypeface != paint.getTypeface()) {
+                mMaxWidth = 0;
+                mTextSize = paint.getTextSize();
+                mTypeface = paint.getTypeface();
+                isWidthValid = false;
+            }
+            if (isWidthValid) {
+                return mMaxWidth;
+            }
+            for (int i = 0; i < mItemCount; i++) {
+                CharSequence label = getLabel(i);
+                mMaxWidth = Math.max(mMaxWidth, (int) paint.measureText(label, 0, label.length()));
+            }
+            System.arraycopy(mSelections, 0, mMeasuredSelections, 0, mColumn);
+            isWidthValid = true;
+            return mMaxWidth;
+        }
+    }
+}
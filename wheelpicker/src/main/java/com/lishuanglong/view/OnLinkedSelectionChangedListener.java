@@ -0,0 +1,15 @@
+package com.lishuanglong.view;
+
+/**
+ * 联动选择器选中位置改变监听接口
+ */
+public interface OnLinkedSelectionChangedListener {
+    /**
+     * 当联动选择器中任意一列的选中位置因用户滚动而改变，并且其后各列都已完成联动更新后回调该方法
+     *
+     * @param picker     联动选择器
+     * @param column     用户滚动的列
+     * @param selections 各列当前选中的位置，该数组由联动选择器持有，不能修改
+     */
+    void onSelectionChanged(LinkedWheelPicker picker, int column, int[] selections);
+}
@@ -0,0 +1,104 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Canvas;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
+import android.graphics.Shader;
+
+/**
+ * 空气感效果的渐变遮罩
+ * 逐项透明度模式下每一条数据项的透明度为1 - |dy| / drawnCenterY，其中dy为数据项中心距滚轮中心的距离。渐变
+ * 遮罩将同样的衰减曲线表示为一条以滚轮中心为对称轴的竖直线性渐变，数据项以不透明的颜色绘制到离屏图层后，以
+ * DST_IN模式绘制一次遮罩即可得到空气感效果，数据项之间不再需要修改画笔透明度
+ * 平面效果下衰减曲线在屏幕上是线性的；卷曲效果下屏幕偏移y = R·sin(dy / (drawnCenterY - drawnTop)·π/2)，衰减
+ * 曲线不再是线性的，此时以{@link #CURVED_STOP_COUNT}个渐变节点分段线性逼近
+ * 与逐项透明度不同的是遮罩的透明度逐像素变化，同一数据项的上下两端透明度略有不同
+ */
+final class AtmosphericMask {
+
+    /**
+     * 卷曲效果下滚轮中心一侧的渐变节点数量
+     */
+    private static final int CURVED_STOP_COUNT = 8;
+
+    private final Paint mPaint = new Paint();
+
+    /**
+     * 计算渐变所依赖的参数，任一参数改变都需要重新创建渐变
+     */
+    private int mWheelCenterY;
+    private int mDrawnCenterY;
+    private int mDrawnTop;
+    private int mRadius;
+    private boolean isCurved;
+    private boolean isValid;
+
+    AtmosphericMask() {
+        mPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.DST_IN));
+    }
+
+    /**
+     * 确保渐变与给定的参数一致，不一致时重新创建渐变
+     *
+     * @param wheelCenterY 滚轮中心Y坐标
+     * @param drawnCenterY 数据项绘制中心Y坐标
+     * @param drawnTop     绘制区域顶部Y坐标
+     * @param radius       卷曲效果下的圆柱半径
+     * @param curved       是否为卷曲效果
+     */
+    void ensure(int wheelCenterY, int drawnCenterY, int drawnTop, int radius, boolean curved) {
+        if (isValid && mWheelCenterY == wheelCenterY && mDrawnCenterY == drawnCenterY && mDrawnTop == drawnTop
+                && mRadius == radius && isCurved == curved) {
+            return;
+        }
+        mWheelCenterY = wheelCenterY;
+        mDrawnCenterY = drawnCenterY;
+        mDrawnTop = drawnTop;
+        mRadius = radius;
+        isCurved = curved;
+        isValid = drawnCenterY > 0 && (!curved || (radius > 0 && drawnCenterY > drawnTop));
+        if (!isValid) {
+            mPaint.setShader(null);
+            return;
+        }
+
+        int[] colors;
+        float[] positions;
+        float span;
+        if (curved) {
+            span = radius;
+            int size = 2 * CURVED_STOP_COUNT + 1;
+            colors = new int[size];
+            positions = new float[size];
+            for (int i = 0; i < size; i++) {
+                float offset = (float) (i - CURVED_STOP_COUNT) / CURVED_STOP_COUNT;
+                float dy = (float) ((drawnCenterY - drawnTop) * 2 / Math.PI * Math.asin(Math.abs(offset)));
+                colors[i] = toMaskColor(1 - dy / drawnCenterY);
+                positions[i] = (offset + 1) / 2;
+            }
+        } else {
+            span = drawnCenterY;
+            colors = new int[]{0, 0xFF000000, 0};
+            positions = new float[]{0, 0.5F, 1};
+        }
+        mPaint.setShader(new LinearGradient(0, wheelCenterY - span, 0, wheelCenterY + span, colors, positions,
+                Shader.TileMode.CLAMP));
+    }
+
+    private static int toMaskColor(float ratio) {
+        int alpha = (int) (ratio * 255);
+        return (alpha < 0 ? 0 : alpha) << 24;
+    }
+
+    /**
+     * 以遮罩覆盖指定区域，区域内已绘制的内容按遮罩透明度保留
+     */
+    void draw(Canvas canvas, Rect rect) {
+        if (isValid) {
+            canvas.drawRect(rect, mPaint);
+        }
+    }
+}
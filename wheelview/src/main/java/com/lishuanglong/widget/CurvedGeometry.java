@@ -0,0 +1,167 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Camera;
+import android.graphics.Matrix;
+
+/**
+ * 卷曲效果下数据项几何参数表
+ * 卷曲效果下数据项的旋转角度、纵深、距滚轮中心的距离、透明度以及变换矩阵只取决于数据项绘制中心与滚轮绘
+ * 制中心在Y方向上的距离dy，而dy的取值范围由数据项高度和绘制数量确定，因此可以在尺寸确定后一次性计算出每一个
+ * dy对应的几何参数，绘制时直接查表，避免每一帧对每一条数据项进行三角函数运算和Camera变换
+ */
+final class CurvedGeometry {
+
+    private final Camera mCamera = new Camera();
+    private final Matrix mMatrixRotate = new Matrix();
+    private final Matrix mMatrixDepth = new Matrix();
+
+    /**
+     * 计算几何参数表所依赖的参数，任一参数改变都需要重新计算
+     */
+    private int mDrawnCenterY;
+    private int mDrawnTop;
+    private int mHalfWheelHeight;
+    private int mWheelCenterY;
+    private int mTransX;
+    private int mItemHeight;
+    private int mHalfDrawnItemCount;
+
+    /**
+     * 参数表所覆盖的dy范围为[-mRange, mRange]
+     */
+    private int mRange = -1;
+
+    /**
+     * 以dy + mRange为下标的距滚轮中心的距离、透明度以及变换矩阵（每9个值为一个矩阵）
+     */
+    private int[] mDistances;
+    private int[] mAlphas;
+    private float[] mMatrixValues;
+
+    /**
+     * 用于从参数表中取出单个矩阵的临时数组
+     */
+    private final float[] mValues = new float[9];
+
+    /**
+     * 确保参数表与给定的参数一致，不一致时重新计算参数表
+     */
+    void ensure(int drawnCenterY, int drawnTop, int halfWheelHeight, int wheelCenterY, int transX,
+                int itemHeight, int halfDrawnItemCount) {
+        if (mRange >= 0 && mDrawnCenterY == drawnCenterY && mDrawnTop == drawnTop
+                && mHalfWheelHeight == halfWheelHeight && mWheelCenterY == wheelCenterY && mTransX == transX
+                && mItemHeight == itemHeight && mHalfDrawnItemCount == halfDrawnItemCount) {
+            return;
+        }
+        mDrawnCenterY = drawnCenterY;
+        mDrawnTop = drawnTop;
+        mHalfWheelHeight = halfWheelHeight;
+        mWheelCenterY = wheelCenterY;
+        mTransX = transX;
+        mItemHeight = itemHeight;
+        mHalfDrawnItemCount = halfDrawnItemCount;
+
+        if (itemHeight <= 0) {
+            mRange = -1;
+            return;
+        }
+
+        // 数据项相对绘制中心的偏移为drawnOffsetPos * itemHeight + scrollOffsetY % itemHeight
+        mRange = halfDrawnItemCount * itemHeight + itemHeight - 1;
+        int size = 2 * mRange + 1;
+        if (mDistances == null || mDistances.length != size) {
+            mDistances = new int[size];
+            mAlphas = new int[size];
+            mMatrixValues = new float[size * 9];
+        }
+        for (int i = 0; i < size; i++) {
+            int dy = i - mRange;
+            mDistances[i] = compute(dy, mMatrixRotate);
+            mMatrixRotate.getValues(mValues);
+            System.arraycopy(mValues, 0, mMatrixValues, i * 9, 9);
+
+            int alpha = (int) ((mDrawnCenterY - Math.abs(dy)) * 1.0F / mDrawnCenterY * 255);
+            mAlphas[i] = alpha < 0 ? 0 : alpha;
+        }
+    }
+
+    /**
+     * 获取数据项距离滚轮中心的距离
+     */
+    int getDistanceToCenter(int dy) {
+        return mDistances[dy + mRange];
+    }
+
+    /**
+     * 获取空气感效果下数据项的透明度
+     */
+    int getAlpha(int dy) {
+        return mAlphas[dy + mRange];
+    }
+
+    /**
+     * 获取数据项的变换矩阵
+     */
+    void getMatrix(int dy, Matrix out) {
+        System.arraycopy(mMatrixValues, (dy + mRange) * 9, mValues, 0, 9);
+        out.setValues(mValues);
+    }
+
+    /**
+     * 计算单个数据项的变换矩阵，并返回数据项距离滚轮中心的距离
+     */
+    private int compute(int dy, Matrix out) {
+        // 计算数据项绘制中心距离滚轮中心的距离比率
+        float ratio = (mDrawnCenterY - Math.abs(dy) - mDrawnTop) * 1.0F / (mDrawnCenterY - mDrawnTop);
+
+        // 计算单位
+        int unit = 0;
+        if (dy > 0) {
+            unit = 1;
+        } else if (dy < 0) {
+            unit = -1;
+        }
+
+        float degree = (-(1 - ratio) * 90 * unit);
+        if (degree < -90) {
+            degree = -90;
+        }
+        if (degree > 90) {
+            degree = 90;
+        }
+
+        int distanceToCenter = computeSpace((int) degree);
+        int transY = mWheelCenterY - distanceToCenter;
+
+        mCamera.save();
+        mCamera.rotateX(degree);
+        mCamera.getMatrix(out);
+        mCamera.restore();
+        out.preTranslate(-mTransX, -transY);
+        out.postTranslate(mTransX, transY);
+
+        mCamera.save();
+        mCamera.translate(0, 0, computeDepth((int) degree));
+        mCamera.getMatrix(mMatrixDepth);
+        mCamera.restore();
+        mMatrixDepth.preTranslate(-mTransX, -transY);
+        mMatrixDepth.postTranslate(mTransX, transY);
+
+        out.postConcat(mMatrixDepth);
+        return distanceToCenter;
+    }
+
+    /**
+     * 计算间隔
+     */
+    private int computeSpace(int degree) {
+        return (int) (Math.sin(Math.toRadians(degree)) * mHalfWheelHeight);
+    }
+
+    /**
+     * 计算纵深
+     */
+    private int computeDepth(int degree) {
+        return (int) (mHalfWheelHeight - Math.cos(Math.toRadians(degree)) * mHalfWheelHeight);
+    }
+}
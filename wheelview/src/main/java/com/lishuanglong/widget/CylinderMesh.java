@@ -0,0 +1,99 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Canvas;
+
+/**
+ * 卷曲效果的圆柱网格
+ * 将平铺绘制在条带位图中的数据项当作贴在半径为R的圆柱表面上的纸带，条带中距滚轮中心弧长为s的一行像素位于
+ * 圆柱上角度θ = s / R处，投影到屏幕上的Y坐标为滚轮中心 + R·sinθ，该行的高度因此按cosθ缩小；X方向以数据项
+ * 对齐位置为轴心，按Camera默认视距下纵深R·(1 - cosθ)的透视比例缩小
+ * 条带在Y方向上按弧长均匀划分为{@link #ROW_COUNT}行网格，每一行的变换在X方向上是线性的，因此只需左右两列
+ * 顶点，整个卷曲滚轮只需一次{@link Canvas#drawBitmapMesh}即可绘制
+ * 与逐个数据项以Camera旋转绘制相比，卷曲效果的几何关系完全一致：数据项中心到滚轮中心的距离同为R·sinθ，
+ * 只是透视只作用于X方向
+ */
+final class CylinderMesh {
+
+    /**
+     * 网格行数
+     */
+    static final int ROW_COUNT = 48;
+
+    /**
+     * Camera默认位于屏幕前方8英寸处，按每英寸72像素换算的视距，单位：px
+     */
+    private static final float CAMERA_DISTANCE = 8 * 72;
+
+    private final float[] mVerts = new float[(ROW_COUNT + 1) * 2 * 2];
+    private final int[] mColors = new int[(ROW_COUNT + 1) * 2];
+    private boolean hasColors;
+
+    /**
+     * 普通文本颜色的条带以及选中数据项文本颜色的条带
+     */
+    private final FlatStripRenderer mStrip = new FlatStripRenderer();
+    private FlatStripRenderer mSelectedStrip;
+
+    FlatStripRenderer getStrip() {
+        return mStrip;
+    }
+
+    FlatStripRenderer getSelectedStrip() {
+        if (mSelectedStrip == null) {
+            mSelectedStrip = new FlatStripRenderer();
+        }
+        return mSelectedStrip;
+    }
+
+    /**
+     * 计算网格顶点
+     *
+     * @param stripHeight   条带位图高度
+     * @param centerInStrip 条带中当前位于滚轮中心的一行像素的Y坐标
+     * @param left          条带左侧在屏幕上的X坐标
+     * @param right         条带右侧在屏幕上的X坐标
+     * @param pivotX        透视缩放的轴心X坐标
+     * @param wheelCenterY  滚轮中心Y坐标
+     * @param radius        圆柱半径
+     * @param fadeDistance  空气感效果下透明度降为0时的弧长，为0时不计算透明度
+     */
+    void update(int stripHeight, float centerInStrip, int left, int right, int pivotX, int wheelCenterY,
+                int radius, float fadeDistance) {
+        hasColors = fadeDistance > 0;
+        float maxAngle = (float) (Math.PI / 2);
+        for (int row = 0, v = 0, c = 0; row <= ROW_COUNT; row++) {
+            float s = stripHeight * (float) row / ROW_COUNT - centerInStrip;
+            float angle = Math.max(-maxAngle, Math.min(maxAngle, s / radius));
+            float y = wheelCenterY + radius * (float) Math.sin(angle);
+            float scale = CAMERA_DISTANCE / (CAMERA_DISTANCE + radius * (1 - (float) Math.cos(angle)));
+            mVerts[v++] = pivotX + (left - pivotX) * scale;
+            mVerts[v++] = y;
+            mVerts[v++] = pivotX + (right - pivotX) * scale;
+            mVerts[v++] = y;
+            if (hasColors) {
+                int alpha = (int) (255 * (1 - Math.abs(s) / fadeDistance));
+                int color = (alpha < 0 ? 0 : alpha) << 24 | 0xFFFFFF;
+                mColors[c++] = color;
+                mColors[c++] = color;
+            }
+        }
+    }
+
+    /**
+     * 以当前网格绘制条带
+     */
+    void draw(Canvas canvas, FlatStripRenderer strip) {
+        strip.drawMesh(canvas, 1, ROW_COUNT, mVerts, hasColors ? mColors : null);
+    }
+
+    /**
+     * 释放条带位图，位图不主动回收，见{@link FlatStripRenderer#release()}
+     */
+    void release() {
+        mStrip.release();
+        if (mSelectedStrip != null) {
+            mSelectedStrip.release();
+            mSelectedStrip = null;
+        }
+    }
+}
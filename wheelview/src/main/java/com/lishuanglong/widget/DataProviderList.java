@@ -0,0 +1,31 @@
+package com.lishuanglong.widget;
+
+import java.util.AbstractList;
+
+/**
+ * 数据提供者的只读列表视图
+ * 使用{@link IWheelView#setDataProvider(WheelDataProvider)}设置数据后，{@link IWheelView#getData()}返回该视图，
+ * 视图本身不保存任何数据项，所有访问都直接转发给数据提供者
+ */
+final class DataProviderList extends AbstractList {
+
+    private final WheelDataProvider mProvider;
+
+    DataProviderList(WheelDataProvider provider) {
+        mProvider = provider;
+    }
+
+    @Override
+    public Object get(int index) {
+        if (index < 0 || index >= mProvider.getItemCount()) {
+            throw new IndexOutOfBoundsException("Index must in [0, " + mProvider.getItemCount() +
+                    "), but current is " + index);
+        }
+        return mProvider.getItem(index);
+    }
+
+    @Override
+    public int size() {
+        return mProvider.getItemCount();
+    }
+}
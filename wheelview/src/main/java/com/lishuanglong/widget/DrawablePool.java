@@ -0,0 +1,90 @@
+package com.lishuanglong.widget;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.support.v4.content.ContextCompat;
+import android.util.SparseArray;
+
+import java.util.ArrayList;
+
+/**
+ * 可绘制对象池
+ * 以资源ID为键保存暂时不用的可绘制对象，供{@link WheelItemRenderer}的数据项在绑定时取用、在回收时归还。
+ * 数据项滚入滚出时只是在池中来回借还，滚动过程中不会重复加载资源或创建新的可绘制对象
+ * 取出的可绘制对象都经过{@link Drawable#mutate()}处理，修改其透明度、边界等状态不会影响同一资源的其他实例，
+ * 但归还时并不会重置这些状态，取用者应当在绑定时重新设置
+ * 池中的可绘制对象由取出时传入的上下文加载，会持有该上下文的资源与主题，因此对象池不应当被长期保存在静态变量
+ * 中，也不应当在主题不同的上下文之间共用。对象池只能在主线程中使用
+ */
+public final class DrawablePool {
+
+    /**
+     * 默认每个资源ID最多保存的可绘制对象数量
+     */
+    public static final int DEFAULT_MAX_PER_RESOURCE = 8;
+
+    /**
+     * 暂时不用的可绘制对象，以资源ID为键
+     */
+    private final SparseArray<ArrayList<Drawable>> mFree = new SparseArray<>();
+
+    private final int mMaxPerResource;
+
+    /**
+     * 创建对象池
+     *
+     * @param maxPerResource 每个资源ID最多保存的可绘制对象数量，必须大于0
+     */
+    public DrawablePool(int maxPerResource) {
+        if (maxPerResource <= 0) {
+            throw new IllegalArgumentException("Max drawables per resource must be greater than 0, but current is " + maxPerResource);
+        }
+        mMaxPerResource = maxPerResource;
+    }
+
+    /**
+     * 取出指定资源的可绘制对象，池中没有时加载新的实例
+     *
+     * @param context 上下文
+     * @param resId   可绘制资源ID
+     * @return 可绘制对象
+     */
+    public Drawable acquire(Context context, int resId) {
+        ArrayList<Drawable> free = mFree.get(resId);
+        if (free != null && !free.isEmpty()) {
+            return free.remove(free.size() - 1);
+        }
+        Drawable drawable = ContextCompat.getDrawable(context, resId);
+        if (drawable == null) {
+            throw new IllegalArgumentException("Drawable resource " + resId + " can not be loaded");
+        }
+        return drawable.mutate();
+    }
+
+    /**
+     * 归还可绘制对象，池中该资源的对象已满时直接丢弃
+     *
+     * @param resId    可绘制资源ID，必须与取出时一致
+     * @param drawable 可绘制对象，可以为null
+     */
+    public void release(int resId, Drawable drawable) {
+        if (drawable == null) {
+            return;
+        }
+        ArrayList<Drawable> free = mFree.get(resId);
+        if (free == null) {
+            free = new ArrayList<>(mMaxPerResource);
+            mFree.put(resId, free);
+        }
+        if (free.size() < mMaxPerResource) {
+            free.add(drawable);
+        }
+    }
+
+    /**
+     * 丢弃池中全部的可绘制对象
+     */
+    public void clear() {
+        mFree.clear();
+    }
+}
@@ -0,0 +1,137 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * 平面滚轮条带缓存
+ * 在没有卷曲、空气感以及选中项颜色效果时，滚轮每一帧绘制的都是同一段数据项，只是在Y方向上整体偏移了滚动距
+ * 离。条带缓存将当前需要绘制的数据项以及上下各{@link #EXTRA_ITEM_COUNT}个额外的数据项一次性绘制到离屏位图
+ * 中，滚动时只需按偏移绘制这张位图，只有当绘制范围越过条带边界时才重新绘制条带
+ * 条带中的数据项以未经循环处理的绘制位置标识，第j个数据项的中心线位于位图的
+ * {@link #getPadding()} + j * itemHeight + itemHeight / 2处
+ * 卷曲效果下条带以同样的方式平铺绘制，再通过{@link CylinderMesh}投影到圆柱表面
+ */
+final class FlatStripRenderer {
+
+    /**
+     * 条带上下两端各额外绘制的数据项数量
+     */
+    static final int EXTRA_ITEM_COUNT = 3;
+
+    private Bitmap mBitmap;
+    private final Canvas mCanvas = new Canvas();
+    private final Paint mBitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    /**
+     * 条带中第一个数据项的绘制位置以及条带包含的数据项数量
+     */
+    private int mFirstPosition;
+    private int mItemCount;
+
+    /**
+     * 条带上下两端为超出数据项高度的文本预留的空白高度
+     */
+    private int mPadding;
+
+    /**
+     * 绘制条带时的配置签名，配置改变后条带失效
+     */
+    private int mSignature;
+    private boolean isValid;
+
+    /**
+     * 条带是否包含从firstPosition开始的count个数据项，并且绘制配置没有改变
+     */
+    boolean covers(int firstPosition, int count, int signature) {
+        return isValid && mSignature == signature && firstPosition >= mFirstPosition
+                && firstPosition + count <= mFirstPosition + mItemCount;
+    }
+
+    /**
+     * 开始绘制条带，返回用于绘制的画布，画布的坐标原点位于条带第一个数据项的顶部
+     *
+     * @param firstPosition 条带中第一个数据项的绘制位置
+     * @param count         条带包含的数据项数量
+     * @param width         条带宽度
+     * @param itemHeight    数据项高度
+     * @param padding       条带上下两端预留的空白高度
+     * @param signature     绘制配置签名
+     */
+    Canvas beginRender(int firstPosition, int count, int width, int itemHeight, int padding, int signature) {
+        int height = count * itemHeight + 2 * padding;
+        if (mBitmap == null || mBitmap.getWidth() != width || mBitmap.getHeight() != height) {
+            release();
+            mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        } else {
+            mBitmap.eraseColor(0);
+        }
+        mFirstPosition = firstPosition;
+        mItemCount = count;
+        mPadding = padding;
+        mSignature = signature;
+        isValid = true;
+
+        mCanvas.setBitmap(mBitmap);
+        mCanvas.save();
+        mCanvas.translate(0, padding);
+        return mCanvas;
+    }
+
+    void endRender() {
+        mCanvas.restore();
+        mCanvas.setBitmap(null);
+    }
+
+    /**
+     * 绘制条带
+     *
+     * @param canvas     目标画布
+     * @param left       条带左侧X坐标
+     * @param top        条带中第一个数据项顶部的Y坐标
+     */
+    void draw(Canvas canvas, int left, int top) {
+        canvas.drawBitmap(mBitmap, left, top - mPadding, mBitmapPaint);
+    }
+
+    /**
+     * 以网格变形的方式绘制条带
+     *
+     * @param meshWidth  网格列数
+     * @param meshHeight 网格行数
+     * @param verts      网格顶点坐标
+     * @param colors     与条带颜色相乘的顶点颜色，可以为null
+     */
+    void drawMesh(Canvas canvas, int meshWidth, int meshHeight, float[] verts, int[] colors) {
+        canvas.drawBitmapMesh(mBitmap, meshWidth, meshHeight, verts, 0, colors, 0, mBitmapPaint);
+    }
+
+    int getHeight() {
+        return mBitmap.getHeight();
+    }
+
+    int getFirstPosition() {
+        return mFirstPosition;
+    }
+
+    int getPadding() {
+        return mPadding;
+    }
+
+    /**
+     * 使条带失效，下一次绘制时重新绘制条带
+     */
+    void invalidate() {
+        isValid = false;
+    }
+
+    /**
+     * 释放条带位图
+     * 位图可能仍被硬件加速的显示列表引用，因此这里不主动回收，只丢弃引用交由GC回收
+     */
+    void release() {
+        isValid = false;
+        mBitmap = null;
+    }
+}
@@ -0,0 +1,137 @@
+package com.lishuanglong.widget;
+
+/**
+ * 滚轮选择器性能指标记录器
+ * 所有计数器与最近帧耗时的环形缓冲区都在创建时分配完毕，记录过程不会产生任何对象，可以在正式发布的版本中
+ * 保持开启
+ */
+final class FrameMetricsRecorder {
+
+    /**
+     * 环形缓冲区保存的最近帧数
+     */
+    static final int HISTORY_SIZE = 120;
+
+    /**
+     * 迟到帧的判定阈值，帧间隔超过屏幕刷新间隔的该倍数时视为迟到
+     */
+    private static final float LATE_FRAME_RATIO = 1.5F;
+
+    private final long[] mFrameDurations = new long[HISTORY_SIZE];
+    private int mHistoryIndex;
+    private int mHistoryCount;
+
+    private long mFrameCount;
+    private long mTotalFrameDurationNanos;
+    private long mMaxFrameDurationNanos;
+    private long mLastFrameDurationNanos;
+    private int mLastDrawnItemCount;
+
+    private long mFlingCount;
+    private int mFlingFrameCount;
+    private int mLastFlingFrameCount;
+    private long mLastAnimationFrameNanos;
+    private long mLateFrameCount;
+    private long mDroppedFrameCount;
+
+    private long mTouchUpNanos = -1;
+    private long mLastSelectionLatencyNanos = -1;
+
+    /**
+     * 屏幕刷新间隔
+     */
+    private long mFrameIntervalNanos = 1000000000L / 60;
+
+    void setRefreshRate(float refreshRate) {
+        if (refreshRate > 0) {
+            mFrameIntervalNanos = (long) (1000000000L / refreshRate);
+        }
+    }
+
+    /**
+     * 记录一次onDraw
+     */
+    void onDraw(long durationNanos, int drawnItemCount) {
+        mFrameCount++;
+        mTotalFrameDurationNanos += durationNanos;
+        mMaxFrameDurationNanos = Math.max(mMaxFrameDurationNanos, durationNanos);
+        mLastFrameDurationNanos = durationNanos;
+        mLastDrawnItemCount = drawnItemCount;
+
+        mFrameDurations[mHistoryIndex] = durationNanos;
+        mHistoryIndex = (mHistoryIndex + 1) % HISTORY_SIZE;
+        mHistoryCount = Math.min(mHistoryCount + 1, HISTORY_SIZE);
+    }
+
+    /**
+     * 记录滚动动画的一帧
+     *
+     * @param frameTimeNanos 帧的时间戳
+     */
+    void onAnimationFrame(long frameTimeNanos) {
+        if (mFlingFrameCount > 0) {
+            long interval = frameTimeNanos - mLastAnimationFrameNanos;
+            if (interval > mFrameIntervalNanos * LATE_FRAME_RATIO) {
+                mLateFrameCount++;
+                mDroppedFrameCount += Math.round((double) interval / mFrameIntervalNanos) - 1;
+            }
+        }
+        mLastAnimationFrameNanos = frameTimeNanos;
+        mFlingFrameCount++;
+    }
+
+    /**
+     * 记录滚动动画结束
+     */
+    void onAnimationFinished() {
+        if (mFlingFrameCount == 0) {
+            return;
+        }
+        mFlingCount++;
+        mLastFlingFrameCount = mFlingFrameCount;
+        mFlingFrameCount = 0;
+    }
+
+    /**
+     * 记录手指抬起
+     */
+    void onTouchUp(long nanos) {
+        mTouchUpNanos = nanos;
+    }
+
+    /**
+     * 记录数据项被选中
+     */
+    void onItemSelected(long nanos) {
+        if (mTouchUpNanos >= 0) {
+            mLastSelectionLatencyNanos = nanos - mTouchUpNanos;
+            mTouchUpNanos = -1;
+        }
+    }
+
+    /**
+     * 将当前指标复制到快照中
+     */
+    void copyTo(WheelMetrics out) {
+        out.frameCount = mFrameCount;
+        out.totalFrameDurationNanos = mTotalFrameDurationNanos;
+        out.maxFrameDurationNanos = mMaxFrameDurationNanos;
+        out.lastFrameDurationNanos = mLastFrameDurationNanos;
+        out.lastDrawnItemCount = mLastDrawnItemCount;
+        out.flingCount = mFlingCount;
+        out.lastFlingFrameCount = mLastFlingFrameCount;
+        out.lateFrameCount = mLateFrameCount;
+        out.droppedFrameCount = mDroppedFrameCount;
+        out.lastSelectionLatencyNanos = mLastSelectionLatencyNanos;
+
+        if (out.recentFrameDurations.length != HISTORY_SIZE) {
+            out.recentFrameDurations = new long[HISTORY_SIZE];
+        }
+        // 按从旧到新的顺序展开环形缓冲区
+        int start = (mHistoryIndex - mHistoryCount + HISTORY_SIZE) % HISTORY_SIZE;
+        for (int i = 0; i < mHistoryCount; i++) {
+            out.recentFrameDurations[i] = mFrameDurations[(start + i) % HISTORY_SIZE];
+        }
+        out.recentFrameCount = mHistoryCount;
+    }
+}
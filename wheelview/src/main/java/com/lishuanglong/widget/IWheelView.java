@@ -107,6 +107,76 @@ public interface IWheelView {
      */
     void setData(List data);
 
+    /**
+     * 获取数据提供者
+     * 通过{@link #setData(List)}设置数据列表时返回的是包装该数据列表的数据提供者
+     *
+     * @return 数据提供者
+     */
+    WheelDataProvider getDataProvider();
+
+    /**
+     * 设置数据提供者
+     * 作为{@link #setData(List)}的替代，数据提供者只需要给出数据项数量并按位置提供数据项和文本，滚轮选择器只会
+     * 访问当前可见的数据项，不会遍历全部数据，适合0到10,000,000或者一年中的每一分钟这类无需也不应该预先构建
+     * 的超大范围数据。设置后{@link #getData()}将返回一个直接读取数据提供者的只读列表视图
+     * 由于不会遍历全部数据，在没有设置数据项宽度相同、最宽文本或最宽文本位置的情况下，滚轮选择器的宽度取决于
+     * {@link WheelDataProvider#getMaximumWidth(android.graphics.Paint)}，数据提供者无法给出时只会根据当前可见
+     * 的数据项计算宽度
+     * 为滚轮选择器设置数据提供者同样会重置滚轮选择器的各项状态，具体行为参考
+     * {@link #setSelectedItemPosition(int)}
+     *
+     * @param provider 数据提供者
+     */
+    void setDataProvider(WheelDataProvider provider);
+
+    /**
+     * 通知滚轮选择器当前数据源的内容或数据项数量已经改变
+     * 与重新设置数据源不同，该方法不会重置滚轮选择器的状态：当前选中的数据项仍然有效时保持选中，超出新的数
+     * 据项数量时选中最后一个数据项；最宽文本的宽度和高度都没有改变时也不会重新布局，适合联动选择器中随其他
+     * 列的选择而改变数据项数量的列，例如随月份在28到31之间变化的日期
+     */
+    void notifyDataSetChanged();
+
+    /**
+     * 通知滚轮选择器指定位置数据项的内容已经改变
+     *
+     * @param position 数据项位置
+     * @see #notifyItemRangeChanged(int, int)
+     */
+    void notifyItemChanged(int position);
+
+    /**
+     * 通知滚轮选择器从指定位置开始的若干个数据项的内容已经改变
+     * 滚轮选择器只会重新测量这些数据项的文本宽度，最宽文本的宽度没有改变时不会重新布局
+     * 开启异步测量后，全部数据项的异步测量完成之前收到的改变、插入和删除通知都会重新发起全部测量，测量完成后
+     * 才能只测量受影响的数据项
+     *
+     * @param positionStart 第一个改变的数据项位置
+     * @param itemCount     改变的数据项数量
+     */
+    void notifyItemRangeChanged(int positionStart, int itemCount);
+
+    /**
+     * 通知滚轮选择器在指定位置插入了若干个数据项，调用前数据源中必须已经包含这些数据项
+     * 当前选中的数据项保持选中，即便它因为插入而改变了位置，正在进行的滚动也不会被打断；滚轮选择器只会测量新
+     * 插入的数据项，最宽文本的宽度没有改变时不会重新布局
+     *
+     * @param positionStart 第一个插入的数据项在新数据中的位置
+     * @param itemCount     插入的数据项数量
+     */
+    void notifyItemRangeInserted(int positionStart, int itemCount);
+
+    /**
+     * 通知滚轮选择器删除了从指定位置开始的若干个数据项，调用前数据源中必须已经删除这些数据项
+     * 当前选中的数据项没有被删除时保持选中，被删除时选中删除范围之后的第一个数据项，没有则选中最后一个数据
+     * 项；最宽文本的宽度没有改变时不会重新布局
+     *
+     * @param positionStart 第一个删除的数据项在原数据中的位置
+     * @param itemCount     删除的数据项数量
+     */
+    void notifyItemRangeRemoved(int positionStart, int itemCount);
+
     /**
      * 设置数据项是否有相同的宽度
      * 滚轮选择器在确定尺寸大小时会通过遍历数据源来计算每一条数据文本的宽度以找到最宽的文本作为滚轮选择器的
@@ -138,6 +208,37 @@ public interface IWheelView {
      */
     void setOnWheelChangeListener(OnWheelChangeListener listener);
 
+    /**
+     * 设置{@link OnWheelChangeListener#onWheelScrolled(int)}的最大回调频率
+     * 滚动距离在每一帧的帧回调中分发，默认每一帧都会回调。设置最大频率后，距上一次回调不足相应间隔的帧不再回调，
+     * 被跳过的最后一次滚动距离会在滚动停止前补发，适合统计等不需要逐帧更新的监听器
+     *
+     * @param callbacksPerSecond 每秒最多回调的次数，0表示不限制
+     */
+    void setScrollCallbackMaxRate(int callbacksPerSecond);
+
+    /**
+     * 获取{@link OnWheelChangeListener#onWheelScrolled(int)}的最大回调频率
+     *
+     * @return 每秒最多回调的次数，0表示不限制
+     */
+    int getScrollCallbackMaxRate();
+
+    /**
+     * 设置是否只在位于中心的数据项改变时回调{@link OnWheelChangeListener#onWheelScrolled(int)}
+     * 可以与最大回调频率同时使用，默认情况下滚动距离每改变一次都会回调
+     *
+     * @param perItem 是否只在中心数据项改变时回调
+     */
+    void setScrollCallbackPerItem(boolean perItem);
+
+    /**
+     * 是否只在位于中心的数据项改变时回调{@link OnWheelChangeListener#onWheelScrolled(int)}
+     *
+     * @return 是否只在中心数据项改变时回调
+     */
+    boolean isScrollCallbackPerItem();
+
     /**
      * 获取最宽的文本
      *
@@ -312,6 +413,27 @@ public interface IWheelView {
      */
     boolean hasAtmospheric();
 
+    /**
+     * 获取滚轮选择器空气感效果的实现方式
+     *
+     * @return 空气感效果实现方式标识值
+     */
+    int getAtmosphericMode();
+
+    /**
+     * 设置滚轮选择器空气感效果的实现方式
+     * 默认方式{@link WheelView#ATMOSPHERIC_MODE_ITEM_ALPHA}在绘制每一条数据项前按其距滚轮中心的距离修改画笔透明
+     * 度；{@link WheelView#ATMOSPHERIC_MODE_GRADIENT_MASK}则将数据项以不透明的颜色绘制到离屏图层中，每一帧以一次
+     * 竖直渐变遮罩应用空气感效果，数据项之间不再改变画笔状态，并且可以与条带缓存同时生效，代价是每一帧一次离屏
+     * 图层的合成
+     *
+     * @param mode 空气感效果实现方式标识值
+     *             该值仅能是下列值之一：
+     *             {@link WheelView#ATMOSPHERIC_MODE_ITEM_ALPHA}
+     *             {@link WheelView#ATMOSPHERIC_MODE_GRADIENT_MASK}
+     */
+    void setAtmosphericMode(int mode);
+
     /**
      * 滚轮选择器是否开启卷曲效果
      *
@@ -363,4 +485,48 @@ public interface IWheelView {
      * @param tf 字体对象
      */
     void setTypeface(Typeface tf);
+
+    /**
+     * 开始批量修改滚轮选择器的属性
+     * 通常每个属性的设置方法都会立即重新测量文本、计算绘制区域并请求重新布局，一次设置多个属性时这些工作会被
+     * 重复执行多次。在{@link #beginEdit()}与{@link #commitEdit()}之间设置的属性会立即生效，但测量文本、计算
+     * 滑动范围和绘制区域以及请求重新布局等工作会被推迟到{@link #commitEdit()}时统一执行，并且每一项最多执行
+     * 一次
+     * 批量修改可以嵌套，只有最外层的{@link #commitEdit()}才会执行累积的工作
+     */
+    void beginEdit();
+
+    /**
+     * 结束批量修改，执行批量修改期间累积的测量、计算以及布局请求
+     *
+     * @throws IllegalStateException 没有与之对应的{@link #beginEdit()}
+     */
+    void commitEdit();
+
+    /**
+     * 设置是否记录性能指标
+     * 开启后滚轮选择器会记录每一帧onDraw的耗时与绘制的数据项数量、每次滚动动画的帧数、滚动动画中迟到和跳过的帧
+     * 数以及从手指抬起到数据项被选中的耗时，所有计数器都是预先分配的，开销很小，可以在正式发布的版本中保持开
+     * 启；关闭时不会产生任何开销
+     * 默认情况下不记录性能指标
+     *
+     * @param enabled 是否记录性能指标
+     */
+    void setMetricsEnabled(boolean enabled);
+
+    /**
+     * 是否正在记录性能指标
+     *
+     * @return 是否记录性能指标
+     */
+    boolean isMetricsEnabled();
+
+    /**
+     * 获取性能指标快照
+     *
+     * @param out 用于接收指标的快照对象，为null时创建新的快照对象
+     * @return 性能指标快照
+     * @see #setMetricsEnabled(boolean)
+     */
+    WheelMetrics getMetrics(WheelMetrics out);
 }
\ No newline at end of file
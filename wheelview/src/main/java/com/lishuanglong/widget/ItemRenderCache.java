@@ -0,0 +1,264 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.util.LruCache;
+
+/**
+ * 数据项渲染缓存
+ * 将数据项文本按（位置，颜色，文本尺寸，字体）光栅化为位图并缓存起来，滚动时直接绘制位图，省去每一帧对
+ * 复杂文字（阿拉伯文、泰文、中日韩文字等）重复排版和光栅化的开销
+ * 文本尺寸、字体以及对齐方式不参与缓存键的计算，它们在每一帧绘制前通过{@link #validate(Paint)}检查，任何
+ * 一项改变都会使整个缓存失效
+ * 位图的范围是文本前进宽度与字形实际边界的并集，斜体以及泰文、阿拉伯文等字形超出前进宽度的部分不会被裁剪
+ * 缓存按位图占用的字节数计算大小，超出内存预算后按最近最少使用的顺序淘汰
+ * 被淘汰的位图可能仍被当前帧记录的硬件显示列表引用，因此不主动回收，交由垃圾回收器处理
+ */
+final class ItemRenderCache {
+
+    /**
+     * 默认内存预算，单位：byte
+     */
+    static final int DEFAULT_MAX_BYTES = 4 * 1024 * 1024;
+
+    /**
+     * ARGB_8888格式每个像素占用的字节数
+     */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * 缓存的渲染结果
+     */
+    static final class Entry {
+        final Bitmap bitmap;
+
+        /**
+         * 文本绘制X坐标在位图中的偏移以及文本基线在位图中的偏移
+         */
+        final float anchorX;
+        final int baseline;
+
+        /**
+         * 是否由预取写入且尚未被绘制使用
+         */
+        boolean isPrefetched;
+
+        Entry(Bitmap bitmap, float anchorX, int baseline) {
+            this.bitmap = bitmap;
+            this.anchorX = anchorX;
+            this.baseline = baseline;
+        }
+    }
+
+    /**
+     * 缓存键
+     */
+    private static final class Key {
+        int position;
+        int color;
+
+        Key(int position, int color) {
+            this.position = position;
+            this.color = color;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return position == key.position && color == key.color;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * position + color;
+        }
+    }
+
+    private final LruCache<Key, Entry> mCache;
+
+    /**
+     * 用于查询的键，避免每次查询都创建新的键对象
+     */
+    private final Key mProbe = new Key(0, 0);
+
+    /**
+     * 预取的渲染结果数量以及其中被绘制使用的数量
+     */
+    private long mPrefetchCount;
+    private long mPrefetchHitCount;
+
+    /**
+     * 用于光栅化文本的画笔和画布
+     */
+    private final Paint mPaint = new Paint();
+    private final Canvas mCanvas = new Canvas();
+    private final Paint.FontMetrics mFontMetrics = new Paint.FontMetrics();
+    private final Rect mBounds = new Rect();
+
+    /**
+     * 当前缓存内容对应的文本尺寸、字体以及对齐方式
+     */
+    private float mTextSize;
+    private Typeface mTypeface;
+    private Paint.Align mAlign;
+
+    ItemRenderCache(int maxBytes) {
+        mCache = new LruCache<Key, Entry>(maxBytes) {
+            @Override
+            protected int sizeOf(Key key, Entry value) {
+                return value.bitmap.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * 检查画笔的文本尺寸、字体和对齐方式是否与缓存内容一致，不一致则清空缓存
+     */
+    void validate(Paint paint) {
+        if (mTextSize != paint.getTextSize() || mTypeface != paint.getTypeface() || mAlign != paint.getTextAlign()) {
+            mCache.evictAll();
+            mPaint.set(paint);
+            // 光栅化时总是以文本起点绘制，对齐方式只用于计算绘制X坐标在位图中的偏移
+            mPaint.setTextAlign(Paint.Align.LEFT);
+            mTextSize = paint.getTextSize();
+            mTypeface = paint.getTypeface();
+            mAlign = paint.getTextAlign();
+        }
+    }
+
+    /**
+     * 获取指定位置与颜色的数据项渲染结果
+     *
+     * @return 渲染结果，未缓存时返回null
+     */
+    Entry get(int position, int color) {
+        mProbe.position = position;
+        mProbe.color = color;
+        Entry entry = mCache.get(mProbe);
+        if (entry != null && entry.isPrefetched) {
+            entry.isPrefetched = false;
+            mPrefetchHitCount++;
+        }
+        return entry;
+    }
+
+    /**
+     * 预取指定位置与颜色的数据项渲染结果，已经缓存时不做任何处理
+     */
+    void prefetch(int position, int color, CharSequence text) {
+        mProbe.position = position;
+        mProbe.color = color;
+        if (mCache.get(mProbe) != null) {
+            return;
+        }
+        Entry entry = put(position, color, text);
+        if (entry != null) {
+            entry.isPrefetched = true;
+            mPrefetchCount++;
+        }
+    }
+
+    /**
+     * 光栅化数据项文本并写入缓存
+     *
+     * @return 渲染结果，文本为空或位图大小超出内存预算时返回null
+     */
+    Entry put(int position, int color, CharSequence text) {
+        mPaint.setColor(color);
+        mPaint.getFontMetrics(mFontMetrics);
+        float advance = mPaint.measureText(text, 0, text.length());
+        mPaint.getTextBounds(text.toString(), 0, text.length(), mBounds);
+        // 以文本起点为原点，取前进宽度与字形边界的并集
+        int left = Math.min(0, mBounds.left);
+        int right = Math.max((int) Math.ceil(advance), mBounds.right);
+        int top = Math.min((int) Math.floor(mFontMetrics.top), mBounds.top);
+        int bottom = Math.max((int) Math.ceil(mFontMetrics.bottom), mBounds.bottom);
+        int width = right - left;
+        int height = bottom - top;
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        // 超出内存预算的渲染结果放入缓存后会被立即淘汰，直接交由调用者绘制文本
+        if ((long) width * height * BYTES_PER_PIXEL > mCache.maxSize()) {
+            return null;
+        }
+
+        int originX = -left;
+        float anchorX;
+        switch (mAlign) {
+            case LEFT:
+                anchorX = originX;
+                break;
+            case RIGHT:
+                anchorX = originX + advance;
+                break;
+            default:
+                anchorX = originX + advance / 2;
+                break;
+        }
+        int baseline = -top;
+
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        mCanvas.setBitmap(bitmap);
+        mCanvas.drawText(text, 0, text.length(), originX, baseline, mPaint);
+        mCanvas.setBitmap(null);
+
+        Entry entry = new Entry(bitmap, anchorX, baseline);
+        mCache.put(new Key(position, color), entry);
+        return entry;
+    }
+
+    /**
+     * 清空缓存，数据源改变后必须调用
+     */
+    void clear() {
+        mCache.evictAll();
+    }
+
+    /**
+     * 清除指定范围内数据项的渲染结果，数据源中部分数据项的内容改变后调用
+     *
+     * @param positionStart 第一个改变的数据项位置
+     * @param itemCount     改变的数据项数量
+     */
+    void invalidate(int positionStart, int itemCount) {
+        for (Key key : mCache.snapshot().keySet()) {
+            if (key.position >= positionStart && key.position - positionStart < itemCount) {
+                mCache.remove(key);
+            }
+        }
+    }
+
+    void resize(int maxBytes) {
+        mCache.resize(maxBytes);
+    }
+
+    int maxBytes() {
+        return mCache.maxSize();
+    }
+
+    int hitCount() {
+        return mCache.hitCount();
+    }
+
+    int missCount() {
+        return mCache.missCount();
+    }
+
+    long prefetchCount() {
+        return mPrefetchCount;
+    }
+
+    long prefetchHitCount() {
+        return mPrefetchHitCount;
+    }
+
+    void resetPrefetchStats() {
+        mPrefetchCount = mPrefetchHitCount = 0;
+    }
+}
@@ -0,0 +1,153 @@
+package com.lishuanglong.widget;
+
+import java.util.Arrays;
+
+/**
+ * 数据项文本缓存
+ * 以数据项在数据源中的位置为键缓存数据项的文本，避免滚轮每一帧都向数据源索取文本，对于数据列表而言
+ * 即避免每一帧对每一条数据调用{@link String#valueOf(Object)}而产生大量的临时字符串
+ * 缓存采用直接映射的方式，位置对容量取模后落在固定的槽位上，因为滚轮绘制的总是一段连续的位置，所以只要容
+ * 量不小于绘制的数据项数量，可见的数据项之间就不会相互挤占，查询和写入也都不会产生额外的对象分配
+ */
+final class LabelCache {
+
+    /**
+     * 默认缓存容量
+     */
+    static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * 槽位对应的数据项位置，-1表示该槽位为空
+     */
+    private int[] mPositions;
+
+    /**
+     * 槽位对应的数据项文本
+     */
+    private CharSequence[] mLabels;
+
+    /**
+     * 槽位中的文本是否由预取写入且尚未被绘制使用
+     */
+    private boolean[] mPrefetched;
+
+    /**
+     * 缓存命中与未命中次数
+     */
+    private long mHitCount;
+    private long mMissCount;
+
+    /**
+     * 预取的文本数量以及其中被绘制使用的数量
+     */
+    private long mPrefetchCount;
+    private long mPrefetchHitCount;
+
+    LabelCache(int capacity) {
+        resize(capacity);
+    }
+
+    /**
+     * 获取数据源中指定位置数据项的文本，缓存未命中时向数据提供者索取并写入缓存
+     */
+    CharSequence get(WheelDataProvider provider, int position) {
+        int slot = position % mPositions.length;
+        if (mPositions[slot] == position) {
+            mHitCount++;
+            if (mPrefetched[slot]) {
+                mPrefetched[slot] = false;
+                mPrefetchHitCount++;
+            }
+            return mLabels[slot];
+        }
+        mMissCount++;
+        CharSequence label = provider.getLabel(position);
+        mPositions[slot] = position;
+        mLabels[slot] = label;
+        mPrefetched[slot] = false;
+        return label;
+    }
+
+    /**
+     * 预取数据源中指定位置数据项的文本，已经缓存时不做任何处理，预取不计入缓存的命中与未命中次数
+     */
+    CharSequence prefetch(WheelDataProvider provider, int position) {
+        int slot = position % mPositions.length;
+        if (mPositions[slot] == position) {
+            return mLabels[slot];
+        }
+        mPrefetchCount++;
+        CharSequence label = provider.getLabel(position);
+        mPositions[slot] = position;
+        mLabels[slot] = label;
+        mPrefetched[slot] = true;
+        return label;
+    }
+
+    /**
+     * 清空缓存，数据源改变后必须调用
+     */
+    void clear() {
+        Arrays.fill(mPositions, -1);
+        Arrays.fill(mLabels, null);
+        Arrays.fill(mPrefetched, false);
+    }
+
+    /**
+     * 清除指定范围内数据项的缓存文本，数据源中部分数据项的内容改变后调用
+     *
+     * @param positionStart 第一个改变的数据项位置
+     * @param itemCount     改变的数据项数量
+     */
+    void invalidate(int positionStart, int itemCount) {
+        for (int slot = 0; slot < mPositions.length; slot++) {
+            int position = mPositions[slot];
+            if (position >= positionStart && position - positionStart < itemCount) {
+                mPositions[slot] = -1;
+                mLabels[slot] = null;
+                mPrefetched[slot] = false;
+            }
+        }
+    }
+
+    /**
+     * 重新设置缓存容量，已缓存的文本会被清空
+     */
+    void resize(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Label cache capacity must be greater than 0, but current is " + capacity);
+        }
+        mPositions = new int[capacity];
+        mLabels = new CharSequence[capacity];
+        mPrefetched = new boolean[capacity];
+        clear();
+    }
+
+    int capacity() {
+        return mPositions.length;
+    }
+
+    long hitCount() {
+        return mHitCount;
+    }
+
+    long missCount() {
+        return mMissCount;
+    }
+
+    long prefetchCount() {
+        return mPrefetchCount;
+    }
+
+    long prefetchHitCount() {
+        return mPrefetchHitCount;
+    }
+
+    void resetStats() {
+        mHitCount = mMissCount = 0;
+    }
+
+    void resetPrefetchStats() {
+        mPrefetchCount = mPrefetchHitCount = 0;
+    }
+}
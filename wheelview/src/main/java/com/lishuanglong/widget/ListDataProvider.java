@@ -0,0 +1,45 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Paint;
+
+import java.util.List;
+
+/**
+ * 基于数据列表的数据提供者
+ * 通过{@link IWheelView#setData(List)}设置的数据列表会被包装为该数据提供者，数据项文本为数据的字符串形式
+ */
+final class ListDataProvider implements WheelDataProvider {
+
+    private final List mData;
+
+    ListDataProvider(List data) {
+        mData = data;
+    }
+
+    List getData() {
+        return mData;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mData.size();
+    }
+
+    @Override
+    public Object getItem(int position) {
+        return mData.get(position);
+    }
+
+    @Override
+    public CharSequence getLabel(int position) {
+        return String.valueOf(mData.get(position));
+    }
+
+    /**
+     * 数据列表无法直接给出最大宽度，由滚轮选择器遍历测量
+     */
+    @Override
+    public int getMaximumWidth(Paint paint) {
+        return -1;
+    }
+}
@@ -0,0 +1,207 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Paint;
+
+/**
+ * 数值范围数据提供者
+ * 以最小值、最大值和步长描述一段等差数值，例如年份、分钟或者按固定步长递增的金额，数据项在绘制时被直接格式化
+ * 到可复用的字符数组中，绘制过程不会产生任何装箱对象或临时字符串，最宽文本的宽度也通过数字位数直接计算得出，
+ * 无需遍历测量每一个数值
+ * 数值可以按指定位数补零，并且可以添加前缀和后缀，例如"第"、"年"
+ * 滚轮选择器绘制时直接调用{@link #getLabel(int, char[])}而不经过{@link #getLabel(int)}，为了保证两者的文本
+ * 始终一致，该类不允许继承，需要其他格式时请实现{@link WheelDataProvider}
+ */
+public final class NumberRangeProvider implements WheelDataProvider {
+
+    private final long mMin;
+    private final long mMax;
+    private final long mStep;
+    private final int mItemCount;
+
+    /**
+     * 补零后数值部分的最小位数
+     */
+    private final int mMinDigits;
+
+    private final String mPrefix;
+    private final String mSuffix;
+
+    /**
+     * 测量最宽文本所用的临时数组
+     */
+    private final char[] mDigit = new char[1];
+
+    /**
+     * 创建步长为1、不补零且没有前后缀的数值范围
+     *
+     * @param min 最小值
+     * @param max 最大值
+     */
+    public NumberRangeProvider(long min, long max) {
+        this(min, max, 1, 0, null, null);
+    }
+
+    /**
+     * 创建数值范围
+     *
+     * @param min       最小值
+     * @param max       最大值，不是min加上步长的整数倍时取不超过该值的最后一个数值
+     * @param step      步长，必须大于0
+     * @param minDigits 数值部分的最小位数，不足时在左侧补零，0表示不补零
+     * @param prefix    前缀，可以为null
+     * @param suffix    后缀，可以为null
+     */
+    public NumberRangeProvider(long min, long max, long step, int minDigits, String prefix, String suffix) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step must be greater than 0, but current is " + step);
+        }
+        if (max < min) {
+            throw new IllegalArgumentException("Max value " + max + " can not be less than min value " + min);
+        }
+        if (minDigits < 0) {
+            throw new IllegalArgumentException("Min digits can not be negative, but current is " + minDigits);
+        }
+        long count = (max - min) / step + 1;
+        if (count <= 0 || count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many items in range [" + min + ", " + max + "] with step " + step);
+        }
+        mMin = min;
+        mMax = max;
+        mStep = step;
+        mItemCount = (int) count;
+        mMinDigits = minDigits;
+        mPrefix = prefix == null ? "" : prefix;
+        mSuffix = suffix == null ? "" : suffix;
+    }
+
+    public long getMin() {
+        return mMin;
+    }
+
+    public long getMax() {
+        return mMax;
+    }
+
+    public long getStep() {
+        return mStep;
+    }
+
+    /**
+     * 获取指定位置的数值
+     *
+     * @param position 数据项位置
+     * @return 数值
+     */
+    public long getValue(int position) {
+        return mMin + position * mStep;
+    }
+
+    /**
+     * 获取指定数值所在的位置，数值不在范围内时返回距其最近的位置
+     *
+     * @param value 数值
+     * @return 数据项位置
+     */
+    public int getPosition(long value) {
+        if (value <= mMin) {
+            return 0;
+        }
+        long position = (value - mMin + mStep / 2) / mStep;
+        return (int) Math.min(position, mItemCount - 1);
+    }
+
+    @Override
+    public int getItemCount() {
+        return mItemCount;
+    }
+
+    @Override
+    public Object getItem(int position) {
+        return getValue(position);
+    }
+
+    @Override
+    public CharSequence getLabel(int position) {
+        char[] buffer = new char[getMaximumLabelLength()];
+        return new String(buffer, 0, getLabel(position, buffer));
+    }
+
+    /**
+     * 将指定位置数据项的文本格式化到字符数组中
+     *
+     * @param position 数据项位置
+     * @param buffer   字符数组，长度不能小于{@link #getMaximumLabelLength()}
+     * @return 文本长度
+     */
+    public int getLabel(int position, char[] buffer) {
+        long value = getValue(position);
+        int length = 0;
+        for (int i = 0; i < mPrefix.length(); i++) {
+            buffer[length++] = mPrefix.charAt(i);
+        }
+        if (value < 0) {
+            buffer[length++] = '-';
+        }
+
+        // 从低位向高位写入数字，负数逐位取反以兼容Long.MIN_VALUE
+        int digits = Math.max(digitCount(value), mMinDigits);
+        int end = length + digits;
+        for (int i = end - 1; i >= length; i--) {
+            int digit = (int) (value % 10);
+            buffer[i] = (char) ('0' + (digit < 0 ? -digit : digit));
+            value /= 10;
+        }
+        length = end;
+
+        for (int i = 0; i < mSuffix.length(); i++) {
+            buffer[length++] = mSuffix.charAt(i);
+        }
+        return length;
+    }
+
+    /**
+     * 获取数据项文本的最大长度
+     *
+     * @return 数据项文本的最大长度
+     */
+    public int getMaximumLabelLength() {
+        return mPrefix.length() + 1 + Math.max(maxDigitCount(), mMinDigits) + mSuffix.length();
+    }
+
+    /**
+     * 以最宽的数字字符乘以最大位数计算最宽文本的宽度
+     */
+    @Override
+    public int getMaximumWidth(Paint paint) {
+        float maxDigitWidth = 0;
+        for (char c = '0'; c <= '9'; c++) {
+            mDigit[0] = c;
+            maxDigitWidth = Math.max(maxDigitWidth, paint.measureText(mDigit, 0, 1));
+        }
+        float width = maxDigitWidth * Math.max(maxDigitCount(), mMinDigits);
+        if (mMin < 0) {
+            width += paint.measureText("-");
+        }
+        width += paint.measureText(mPrefix) + paint.measureText(mSuffix);
+        return (int) Math.ceil(width);
+    }
+
+    /**
+     * 范围内数值的最大位数
+     */
+    private int maxDigitCount() {
+        return Math.max(digitCount(mMin), digitCount(mMax));
+    }
+
+    /**
+     * 计算数值绝对值的十进制位数
+     */
+    private static int digitCount(long value) {
+        int count = 1;
+        while (value <= -10 || value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+}
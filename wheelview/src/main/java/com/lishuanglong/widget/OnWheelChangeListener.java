@@ -12,6 +12,8 @@ public interface OnWheelChangeListener {
      * 当滚轮选择器滚动时回调该方法
      * 滚轮选择器滚动时会将当前滚动位置与滚轮初始位置之间的偏移距离返回，该偏移距离有正负之分，正值表示
      * 滚轮正在往上滚动，负值则表示滚轮正在往下滚动
+     * 该方法在滚动的帧回调中执行，不会阻塞绘制过程，回调频率可以通过{@link IWheelView#setScrollCallbackMaxRate(int)}
+     * 与{@link IWheelView#setScrollCallbackPerItem(boolean)}限制
      *
      * @param offset 当前滚轮滚动距离上一次滚轮滚动停止后偏移的距离
      */
@@ -20,6 +22,7 @@ public interface OnWheelChangeListener {
     /**
      * 当滚轮选择器停止后回调该方法
      * 滚轮选择器停止后会回调该方法并将当前选中的数据项在数据列表中的位置返回
+     * 只有用户触摸引起的滚动停止时才会回调，通过{@link IWheelView#setSelectedItemPosition(int)}设置选中位置不会回调
      *
      * @param position 当前选中的数据项在数据列表中的位置
      */
@@ -28,6 +31,8 @@ public interface OnWheelChangeListener {
     /**
      * 当滚轮选择器滚动状态改变时回调该方法
      * 滚动选择器的状态总是会在静止、拖动和滑动三者之间切换，当状态改变时回调该方法
+     * 以动画方式设置选中位置时滚轮同样会进入滑动状态，因此动画结束后也会回调静止状态，保证每一次滑动状态之后
+     * 都有对应的静止状态
      *
      * @param state 滚轮选择器滚动状态，其值仅可能为下列之一
      *              {@link com.lishuanglong.widget.WheelView#SCROLL_STATE_IDLE}
@@ -0,0 +1,495 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Paint;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
+
+import java.util.List;
+
+/**
+ * 分页异步加载的数据提供者
+ * 适合数据保存在数据库等外部存储中、无法也不需要一次性读入内存的场景。数据按固定大小分页，滚轮选择器的绘制
+ * 范围改变时，数据提供者只请求加载覆盖绘制范围及其前后各半页的页面，惯性滑动开始时还会立即加载滑动停止位置
+ * 所在的页面。尚未加载的数据项以占位文本绘制，页面加载完成后只有在其覆盖当前绘制范围时滚轮选择器才会重新绘制
+ * 加载完成的页面保存在按最近最少使用的顺序回收的页面缓存中。绘制范围移出某个正在加载的页面后，该页面的加载
+ * 会被立即取消，因此快速滑过百万条数据时同一时刻最多只有覆盖绘制范围的几个页面在加载
+ * 子类通过{@link #onLoadPage(PageLoad)}发起加载，在任意线程中通过{@link PageLoad#complete(List)}交付结果
+ * 由于数据是异步加载的，滚轮选择器无法据此确定自身宽度，建议同时通过
+ * {@link IWheelView#setMaximumWidthText(String)}给出最宽的文本，或者重写{@link #getMaximumWidth(Paint)}
+ */
+public abstract class PagedDataProvider implements ViewportDataProvider {
+
+    /**
+     * 默认每页数据项数量
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * 默认页面缓存容量，单位：页
+     */
+    public static final int DEFAULT_MAX_PAGES = 20;
+
+    /**
+     * 一次页面加载请求
+     */
+    public static final class PageLoad {
+        private final PagedDataProvider mProvider;
+        private final int mPage;
+        private final int mStart;
+        private final int mCount;
+        private volatile boolean isCancelled;
+
+        PageLoad(PagedDataProvider provider, int page, int start, int count) {
+            mProvider = provider;
+            mPage = page;
+            mStart = start;
+            mCount = count;
+        }
+
+        /**
+         * 获取页码
+         */
+        public int getPage() {
+            return mPage;
+        }
+
+        /**
+         * 获取页面中第一个数据项的位置
+         */
+        public int getStart() {
+            return mStart;
+        }
+
+        /**
+         * 获取页面中的数据项数量，最后一页可能少于每页数据项数量
+         */
+        public int getCount() {
+            return mCount;
+        }
+
+        /**
+         * 加载是否已经被取消，耗时的加载过程可以据此提前结束
+         */
+        public boolean isCancelled() {
+            return isCancelled;
+        }
+
+        /**
+         * 交付加载结果，可以在任意线程中调用，加载已经被取消时结果会被丢弃
+         *
+         * @param items 页面中的数据项，数量必须与{@link #getCount()}一致
+         */
+        public void complete(final List<?> items) {
+            if (items.size() != mCount) {
+                throw new IllegalArgumentException("Page " + mPage + " must have " + mCount
+                        + " items, but current is " + items.size());
+            }
+            mProvider.mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    mProvider.onPageLoaded(PageLoad.this, items);
+                }
+            });
+        }
+
+        /**
+         * 报告加载失败，可以在任意线程中调用，该页面会在绘制范围下一次改变时重新加载
+         */
+        public void fail() {
+            mProvider.mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    mProvider.onPageLoaded(PageLoad.this, null);
+                }
+            });
+        }
+    }
+
+    /**
+     * 已经加载的页面及其最近一次被访问的序号
+     */
+    private static final class Page {
+        final List<?> items;
+        long lastAccess;
+
+        Page(List<?> items, long lastAccess) {
+            this.items = items;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private final int mItemCount;
+    private final int mPageSize;
+
+    /**
+     * 已经加载的页面，以页码为键，超出容量时回收最近最少访问的页面
+     * 绘制每个数据项都要查询页面，以int为键的SparseArray避免了LruCache每次查询都将页码装箱
+     */
+    private final SparseArray<Page> mPages = new SparseArray<>();
+    private long mAccessCount;
+
+    /**
+     * 设置的页面缓存容量以及实际容量，实际容量不小于覆盖需要加载范围与滚动停止范围所需的页数
+     */
+    private int mMaxPages;
+    private int mPageCapacity;
+
+    /**
+     * 正在加载的页面，以页码为键
+     */
+    private final SparseArray<PageLoad> mLoads = new SparseArray<>();
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * 尚未加载的数据项显示的占位文本
+     */
+    private CharSequence mPlaceholder = "…";
+
+    private DataObserver mDataObserver;
+
+    /**
+     * 需要加载的数据项范围[mRangeStart, mRangeEnd)，循环状态下可能越过数据末尾，位置需要对数据项数量取模
+     */
+    private int mRangeStart;
+    private int mRangeEnd;
+
+    /**
+     * 滚动停止位置的数据项范围[mTargetStart, mTargetEnd)，含义与需要加载的范围相同，没有目标时两者相等
+     */
+    private int mTargetStart;
+    private int mTargetEnd;
+
+    /**
+     * 创建每页{@link #DEFAULT_PAGE_SIZE}个数据项、缓存{@link #DEFAULT_MAX_PAGES}页的数据提供者
+     *
+     * @param itemCount 数据项数量
+     */
+    public PagedDataProvider(int itemCount) {
+        this(itemCount, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * 创建分页数据提供者
+     *
+     * @param itemCount 数据项数量
+     * @param pageSize  每页数据项数量，必须大于0
+     * @param maxPages  页面缓存容量，单位：页，必须大于0
+     */
+    public PagedDataProvider(int itemCount, int pageSize, int maxPages) {
+        if (itemCount < 0) {
+            throw new IllegalArgumentException("Item count can not be negative, but current is " + itemCount);
+        }
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0, but current is " + pageSize);
+        }
+        if (maxPages <= 0) {
+            throw new IllegalArgumentException("Max pages must be greater than 0, but current is " + maxPages);
+        }
+        mItemCount = itemCount;
+        mPageSize = pageSize;
+        mMaxPages = maxPages;
+        mPageCapacity = maxPages;
+    }
+
+    /**
+     * 发起页面加载，在主线程中调用
+     * 子类应当在后台线程中读取从{@link PageLoad#getStart()}开始的{@link PageLoad#getCount()}个数据项，完成
+     * 后调用{@link PageLoad#complete(List)}，失败时调用{@link PageLoad#fail()}
+     *
+     * @param load 加载请求
+     */
+    protected abstract void onLoadPage(PageLoad load);
+
+    /**
+     * 页面加载被取消时回调，在主线程中调用，子类可以在此中断正在进行的查询，默认不做任何处理
+     *
+     * @param load 被取消的加载请求
+     */
+    protected void onCancelPage(PageLoad load) {
+    }
+
+    /**
+     * 获取已加载数据项显示的文本，默认为数据项的字符串形式
+     *
+     * @param item 数据项
+     * @return 数据项显示的文本
+     */
+    protected CharSequence getItemLabel(Object item) {
+        return String.valueOf(item);
+    }
+
+    public int getPageSize() {
+        return mPageSize;
+    }
+
+    /**
+     * 设置页面缓存容量
+     * 容量小于覆盖当前绘制范围和滚动停止范围所需的页数时，页面缓存会临时扩大到所需的页数，否则刚刚加载完成
+     * 的可见页面可能被立即回收而一直显示占位文本
+     *
+     * @param maxPages 页面缓存容量，单位：页，必须大于0
+     */
+    public void setMaxPages(int maxPages) {
+        if (maxPages <= 0) {
+            throw new IllegalArgumentException("Max pages must be greater than 0, but current is " + maxPages);
+        }
+        mMaxPages = maxPages;
+        resizePages();
+    }
+
+    public int getMaxPages() {
+        return mMaxPages;
+    }
+
+    /**
+     * 设置尚未加载的数据项显示的占位文本，默认为省略号
+     *
+     * @param placeholder 占位文本
+     */
+    public void setPlaceholder(CharSequence placeholder) {
+        if (placeholder == null) {
+            throw new NullPointerException("Placeholder can not be null!");
+        }
+        mPlaceholder = placeholder;
+    }
+
+    public CharSequence getPlaceholder() {
+        return mPlaceholder;
+    }
+
+    /**
+     * 指定位置的数据项是否已经加载
+     *
+     * @param position 数据项位置
+     * @return 是否已经加载
+     */
+    public boolean isLoaded(int position) {
+        return getPage(position / mPageSize) != null;
+    }
+
+    /**
+     * 丢弃全部已加载的页面并取消正在进行的加载，外部数据改变后调用，当前绘制范围内的页面会被重新加载
+     */
+    public void invalidate() {
+        cancelLoads(false);
+        mPages.clear();
+        if (mDataObserver != null && mItemCount > 0) {
+            mDataObserver.onItemRangeChanged(0, mItemCount);
+        }
+        loadRange(mRangeStart, mRangeEnd);
+        loadRange(mTargetStart, mTargetEnd);
+    }
+
+    @Override
+    public int getItemCount() {
+        return mItemCount;
+    }
+
+    /**
+     * 获取指定位置的数据项
+     *
+     * @return 数据项，尚未加载时返回null
+     */
+    @Override
+    public Object getItem(int position) {
+        List<?> page = getPage(position / mPageSize);
+        return page == null ? null : page.get(position % mPageSize);
+    }
+
+    /**
+     * 获取指定位置的数据项需要显示的文本
+     *
+     * @return 数据项显示的文本，尚未加载时返回占位文本
+     */
+    @Override
+    public CharSequence getLabel(int position) {
+        List<?> page = getPage(position / mPageSize);
+        return page == null ? mPlaceholder : getItemLabel(page.get(position % mPageSize));
+    }
+
+    @Override
+    public int getMaximumWidth(Paint paint) {
+        return -1;
+    }
+
+    @Override
+    public void setDataObserver(DataObserver observer) {
+        mDataObserver = observer;
+        if (observer == null) {
+            cancelLoads(true);
+            mRangeStart = mRangeEnd = 0;
+            mTargetStart = mTargetEnd = 0;
+            resizePages();
+        }
+    }
+
+    @Override
+    public void onViewportChanged(int firstPosition, int count) {
+        if (mItemCount == 0) {
+            return;
+        }
+        // 在绘制范围前后各多加载半页，滚动时不至于每滚入一个新页面都要等待加载
+        int margin = mPageSize / 2;
+        mRangeStart = firstPosition - margin;
+        mRangeEnd = firstPosition + count + margin;
+        if (mRangeEnd - mRangeStart >= mItemCount) {
+            mRangeStart = 0;
+            mRangeEnd = mItemCount;
+        } else if (firstPosition + count <= mItemCount) {
+            // 绘制范围没有越过数据末尾时不需要加载另一端的页面
+            mRangeStart = Math.max(0, mRangeStart);
+            mRangeEnd = Math.min(mItemCount, mRangeEnd);
+        }
+        cancelLoads(false);
+        resizePages();
+        loadRange(mRangeStart, mRangeEnd);
+    }
+
+    /**
+     * 立即加载滚动停止位置所在的页面，惯性滑动经过的页面则只在进入绘制范围时才加载，停止位置的页面不受绘
+     * 制范围改变的影响，直到滚动停止或者被中断才可能被取消
+     */
+    @Override
+    public void onScrollTargetChanged(int firstPosition, int count) {
+        if (mItemCount == 0) {
+            return;
+        }
+        mTargetStart = firstPosition;
+        mTargetEnd = firstPosition + count;
+        if (mTargetEnd - mTargetStart >= mItemCount) {
+            mTargetStart = 0;
+            mTargetEnd = mItemCount;
+        } else if (firstPosition >= 0 && firstPosition + count <= mItemCount) {
+            mTargetStart = Math.max(0, mTargetStart);
+            mTargetEnd = Math.min(mItemCount, mTargetEnd);
+        }
+        cancelLoads(false);
+        resizePages();
+        loadRange(mTargetStart, mTargetEnd);
+    }
+
+    /**
+     * 使页面缓存容量不小于覆盖需要加载范围与滚动停止范围所需的页数
+     */
+    private void resizePages() {
+        int maxPages = Math.max(mMaxPages, countPages(mRangeStart, mRangeEnd) + countPages(mTargetStart, mTargetEnd));
+        if (maxPages != mPageCapacity) {
+            mPageCapacity = maxPages;
+            trimPages();
+        }
+    }
+
+    /**
+     * 获取已经加载的页面并将其标记为最近访问
+     *
+     * @return 页面中的数据项，尚未加载时返回null
+     */
+    private List<?> getPage(int page) {
+        Page cached = mPages.get(page);
+        if (cached == null) {
+            return null;
+        }
+        cached.lastAccess = ++mAccessCount;
+        return cached.items;
+    }
+
+    /**
+     * 回收最近最少访问的页面直到页面数量不超过实际容量，页面缓存只有数十页，线性查找即可
+     */
+    private void trimPages() {
+        while (mPages.size() > mPageCapacity) {
+            int eldest = 0;
+            for (int i = 1; i < mPages.size(); i++) {
+                if (mPages.valueAt(i).lastAccess < mPages.valueAt(eldest).lastAccess) {
+                    eldest = i;
+                }
+            }
+            mPages.removeAt(eldest);
+        }
+    }
+
+    /**
+     * 计算覆盖[rangeStart, rangeEnd)范围最多需要的页数
+     */
+    private int countPages(int rangeStart, int rangeEnd) {
+        if (rangeEnd <= rangeStart) {
+            return 0;
+        }
+        // 范围的起点不一定与页面对齐，越过数据末尾时末页也可能不满一页，因此最多比整页数多两页
+        int totalPages = (mItemCount + mPageSize - 1) / mPageSize;
+        return Math.min(totalPages, (rangeEnd - rangeStart + mPageSize - 1) / mPageSize + 2);
+    }
+
+    /**
+     * 取消正在进行的加载，all为false时只取消既不在需要加载范围内也不在滚动停止范围内的页面
+     */
+    private void cancelLoads(boolean all) {
+        for (int i = mLoads.size() - 1; i >= 0; i--) {
+            PageLoad load = mLoads.valueAt(i);
+            if (all || !isPageInRange(load.mPage, mRangeStart, mRangeEnd)
+                    && !isPageInRange(load.mPage, mTargetStart, mTargetEnd)) {
+                load.isCancelled = true;
+                mLoads.removeAt(i);
+                onCancelPage(load);
+            }
+        }
+    }
+
+    /**
+     * 加载[rangeStart, rangeEnd)范围内既没有缓存也没有正在加载的页面
+     */
+    private void loadRange(int rangeStart, int rangeEnd) {
+        int lastPage = -1;
+        for (int position = rangeStart; position < rangeEnd; position++) {
+            int page = pageOf(position);
+            if (page == lastPage) {
+                continue;
+            }
+            lastPage = page;
+            if (mLoads.get(page) != null || getPage(page) != null) {
+                continue;
+            }
+            int start = page * mPageSize;
+            PageLoad load = new PageLoad(this, page, start, Math.min(mPageSize, mItemCount - start));
+            mLoads.put(page, load);
+            onLoadPage(load);
+        }
+    }
+
+    private boolean isPageInRange(int page, int rangeStart, int rangeEnd) {
+        // 范围的长度不超过数据项数量且最多越过数据两端之一，将页面平移一个数据项数量后分别检查是否相交
+        long start = (long) page * mPageSize;
+        long end = Math.min(start + mPageSize, mItemCount);
+        for (long shift = -mItemCount; shift <= mItemCount; shift += mItemCount) {
+            if (start + shift < rangeEnd && end + shift > rangeStart) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int pageOf(int position) {
+        int dataPosition = position % mItemCount;
+        if (dataPosition < 0) {
+            dataPosition += mItemCount;
+        }
+        return dataPosition / mPageSize;
+    }
+
+    private void onPageLoaded(PageLoad load, List<?> items) {
+        if (load.isCancelled || mLoads.get(load.mPage) != load) {
+            return;
+        }
+        mLoads.remove(load.mPage);
+        if (items == null) {
+            return;
+        }
+        mPages.put(load.mPage, new Page(items, ++mAccessCount));
+        trimPages();
+        if (mDataObserver != null) {
+            mDataObserver.onItemRangeChanged(load.mStart, load.mCount);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.lishuanglong.widget;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * 数据项文本前缀索引
+ * 按指定语言环境的排序规则为全部数据项文本生成排序键并排序，之后可以通过二分查找在O(log n)时间内找到以指定前
+ * 缀开头的数据项。排序规则只比较基本字符，忽略大小写和重音符号的差异，以指定前缀开头的数据项有多个时返回
+ * 按排序规则排在最前面的一个，排序键相同时返回位置靠前的一个
+ * 索引在{@link TextWidthMeasurer#pool()}线程池中构建，构建完成后在主线程中回调。同一时刻只有最近一次构建有
+ * 效，发起新的构建或调用{@link #cancel()}都会使之前的构建结果被丢弃
+ * 只有{@link ListDataProvider}的数据项会被索引，数据列表的快照在主线程中复制后交给工作线程。其他数据提供者的
+ * 文本可能是异步加载的占位文本，也不保证可以在工作线程中读取，为其构建的索引总是为空
+ * {@link NumberRangeProvider}同样不被索引：数值范围可以包含数以亿计的数据项，为每个数据项生成排序键会耗尽
+ * 内存，数值可以直接通过{@link NumberRangeProvider#getPosition(long)}换算为位置
+ */
+final class PrefixIndex {
+
+    /**
+     * 构建完成回调，总是在主线程中执行
+     */
+    interface Callback {
+        void onBuilt();
+
+        /**
+         * 构建过程中抛出了异常，例如数据的toString方法抛出异常
+         */
+        void onBuildFailed(RuntimeException e);
+    }
+
+    private static final Comparator<Entry> ENTRY_COMPARATOR = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry lhs, Entry rhs) {
+            return lhs.key.compareTo(rhs.key);
+        }
+    };
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * 当前正在进行的构建
+     */
+    private Build mBuild;
+
+    /**
+     * 构建完成的索引，按排序键升序排列的排序键及其对应的数据项位置，尚未构建完成时为null
+     */
+    private Collator mCollator;
+    private CollationKey[] mKeys;
+    private int[] mPositions;
+
+    /**
+     * 发起一次异步构建，之前的索引以及未完成的构建都会被丢弃，不支持索引的数据提供者会立即得到空的索引
+     *
+     * @param provider 数据提供者
+     * @param locale   排序规则所用的语言环境
+     * @param callback 构建完成回调
+     */
+    void build(WheelDataProvider provider, Locale locale, Callback callback) {
+        cancel();
+        clear();
+        if (!(provider instanceof ListDataProvider)) {
+            mCollator = newCollator(locale);
+            mKeys = new CollationKey[0];
+            mPositions = new int[0];
+            return;
+        }
+        final Object[] items = ((ListDataProvider) provider).getData().toArray();
+        final Build build = new Build(locale, callback);
+        mBuild = build;
+        TextWidthMeasurer.pool().execute(new Runnable() {
+            @Override
+            public void run() {
+                CollationKey[] keys = null;
+                int[] positions = null;
+                RuntimeException error = null;
+                try {
+                    // Collator不是线程安全的，工作线程与主线程各自使用独立的实例
+                    Collator collator = newCollator(build.locale);
+                    int count = items.length;
+                    Entry[] entries = new Entry[count];
+                    for (int i = 0; i < count; i++) {
+                        if (build.isCancelled) {
+                            return;
+                        }
+                        entries[i] = new Entry(collator.getCollationKey(String.valueOf(items[i])), i);
+                    }
+                    // 稳定排序，排序键相同的数据项保持位置先后
+                    Arrays.sort(entries, ENTRY_COMPARATOR);
+                    keys = new CollationKey[count];
+                    positions = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        keys[i] = entries[i].key;
+                        positions[i] = entries[i].position;
+                    }
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                final CollationKey[] builtKeys = keys;
+                final int[] builtPositions = positions;
+                final RuntimeException failure = error;
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (build.isCancelled || mBuild != build) {
+                            return;
+                        }
+                        mBuild = null;
+                        if (failure != null) {
+                            build.callback.onBuildFailed(failure);
+                            return;
+                        }
+                        mCollator = newCollator(build.locale);
+                        mKeys = builtKeys;
+                        mPositions = builtPositions;
+                        build.callback.onBuilt();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 取消正在进行的构建
+     */
+    void cancel() {
+        if (mBuild != null) {
+            mBuild.isCancelled = true;
+            mBuild = null;
+        }
+    }
+
+    /**
+     * 丢弃已经构建完成的索引
+     */
+    void clear() {
+        mCollator = null;
+        mKeys = null;
+        mPositions = null;
+    }
+
+    /**
+     * 是否有正在进行的构建
+     */
+    boolean isBuilding() {
+        return mBuild != null;
+    }
+
+    /**
+     * 索引是否已经构建完成
+     */
+    boolean isReady() {
+        return mKeys != null;
+    }
+
+    /**
+     * 查找以指定前缀开头的数据项
+     *
+     * @param prefix 前缀
+     * @return 数据项位置，没有匹配的数据项、前缀为空或者索引尚未构建完成时返回-1
+     */
+    int find(CharSequence prefix) {
+        if (mKeys == null || prefix.length() == 0) {
+            return -1;
+        }
+        String text = prefix.toString();
+        CollationKey key = mCollator.getCollationKey(text);
+
+        // 以前缀开头的文本在排序规则下都不小于前缀本身，找到第一个不小于前缀的排序键
+        int low = 0;
+        int high = mKeys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (mKeys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (low == mKeys.length) {
+            return -1;
+        }
+        String label = mKeys[low].getSourceString();
+        if (label.length() < text.length() || mCollator.compare(label.substring(0, text.length()), text) != 0) {
+            return -1;
+        }
+        return mPositions[low];
+    }
+
+    private static Collator newCollator(Locale locale) {
+        Collator collator = Collator.getInstance(locale);
+        collator.setStrength(Collator.PRIMARY);
+        return collator;
+    }
+
+    private static final class Build {
+        final Locale locale;
+        final Callback callback;
+        volatile boolean isCancelled;
+
+        Build(Locale locale, Callback callback) {
+            this.locale = locale;
+            this.callback = callback;
+        }
+    }
+
+    private static final class Entry {
+        final CollationKey key;
+        final int position;
+
+        Entry(CollationKey key, int position) {
+            this.key = key;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.lishuanglong.widget;
+
+import java.util.Arrays;
+
+/**
+ * 数据项文本宽度索引
+ * 记录每个位置数据项文本的宽度，同时按宽度统计数据项数量，数据项插入、删除或改变时只需测量受影响的数据项
+ * 即可得到新的最大宽度，无需重新测量全部数据
+ * 宽度统计以宽度值为下标，最大宽度被删除后从原最大宽度向下查找下一个非零的统计值，整个过程不会产生额外的
+ * 对象分配
+ */
+final class TextWidthIndex {
+
+    /**
+     * 各位置数据项文本的宽度，-1表示尚未测量
+     */
+    private int[] mWidths = new int[16];
+    private int mSize;
+
+    /**
+     * 以宽度为下标的数据项数量统计
+     */
+    private int[] mCounts = new int[64];
+    private int mMaxWidth;
+
+    /**
+     * 索引是否与当前数据一致
+     */
+    private boolean isValid;
+
+    /**
+     * 清空索引并开始重新构建，之后依次调用{@link #add(int)}写入每个数据项的宽度
+     */
+    void reset() {
+        mSize = 0;
+        mMaxWidth = 0;
+        Arrays.fill(mCounts, 0);
+        isValid = true;
+    }
+
+    /**
+     * 使索引失效，数据的最大宽度不再由索引维护时调用
+     */
+    void invalidate() {
+        isValid = false;
+    }
+
+    boolean isValid() {
+        return isValid;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * 在末尾追加一个数据项的宽度
+     */
+    void add(int width) {
+        insert(mSize, 1);
+        set(mSize - 1, width);
+    }
+
+    /**
+     * 在指定位置插入若干个尚未测量的数据项，之后需要通过{@link #set(int, int)}写入它们的宽度
+     */
+    void insert(int position, int count) {
+        if (mSize + count > mWidths.length) {
+            mWidths = Arrays.copyOf(mWidths, Math.max(mWidths.length * 2, mSize + count));
+        }
+        System.arraycopy(mWidths, position, mWidths, position + count, mSize - position);
+        Arrays.fill(mWidths, position, position + count, -1);
+        mSize += count;
+    }
+
+    /**
+     * 删除从指定位置开始的若干个数据项
+     */
+    void remove(int position, int count) {
+        for (int i = position; i < position + count; i++) {
+            uncount(mWidths[i]);
+        }
+        System.arraycopy(mWidths, position + count, mWidths, position, mSize - position - count);
+        mSize -= count;
+    }
+
+    /**
+     * 更新指定位置数据项的宽度
+     */
+    void set(int position, int width) {
+        uncount(mWidths[position]);
+        mWidths[position] = width;
+        if (width >= mCounts.length) {
+            mCounts = Arrays.copyOf(mCounts, Math.max(mCounts.length * 2, width + 1));
+        }
+        mCounts[width]++;
+        mMaxWidth = Math.max(mMaxWidth, width);
+    }
+
+    /**
+     * 获取最大宽度
+     */
+    int maxWidth() {
+        return mMaxWidth;
+    }
+
+    private void uncount(int width) {
+        if (width < 0) {
+            return;
+        }
+        mCounts[width]--;
+        while (mMaxWidth > 0 && mCounts[mMaxWidth] == 0) {
+            mMaxWidth--;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Paint;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 数据项文本宽度异步测量工具
+ * 将数据源切分为若干段交给ForkJoin线程池并行测量，每一段使用独立的画笔副本，测量完成后在主线程中回调最大
+ * 宽度以及每个数据项的宽度。同一时刻只有最近一次测量有效，发起新的测量或调用{@link #cancel()}都会使之前的测量结果被丢弃
+ * 发起测量时会在主线程中复制一份数据源的快照，工作线程只读取快照，因此测量期间数据源可以被修改，但数据的
+ * toString方法仍会在工作线程中调用
+ */
+final class TextWidthMeasurer {
+
+    /**
+     * 数据量达到该值时才使用异步测量，数据量较少时线程调度的开销反而更大
+     */
+    static final int MIN_ASYNC_SIZE = 2048;
+
+    /**
+     * 单个测量任务最多测量的数据项数量
+     */
+    private static final int LEAF_SIZE = 1024;
+
+    private static ForkJoinPool sPool;
+
+    /**
+     * 测量完成回调，总是在主线程中执行
+     */
+    interface Callback {
+        /**
+         * @param maxWidth 最大宽度
+         * @param widths   各位置数据项文本的宽度，数量与测量时的数据快照一致
+         */
+        void onMeasured(int maxWidth, int[] widths);
+
+        /**
+         * 测量过程中抛出了异常，例如数据的toString方法抛出异常
+         */
+        void onMeasureFailed(RuntimeException e);
+    }
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * 当前正在进行的测量
+     */
+    private Measurement mMeasurement;
+
+    /**
+     * 共享的测量线程池，所有滚轮选择器共用
+     */
+    static synchronized ForkJoinPool pool() {
+        if (sPool == null) {
+            sPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        }
+        return sPool;
+    }
+
+    /**
+     * 发起一次异步测量，之前未完成的测量会被取消
+     *
+     * @param data     数据源，测量使用其快照，调用后对数据源的修改不会影响本次测量
+     * @param paint    测量所用的画笔，测量使用其副本，调用后对该画笔的修改不会影响本次测量
+     * @param callback 测量完成回调
+     */
+    void measure(List data, Paint paint, Callback callback) {
+        cancel();
+        final Measurement measurement = new Measurement(data.toArray(), new Paint(paint), callback);
+        mMeasurement = measurement;
+        pool().execute(new Runnable() {
+            @Override
+            public void run() {
+                int maxWidth = 0;
+                RuntimeException error = null;
+                try {
+                    maxWidth = new MeasureTask(measurement, 0, measurement.data.length).invoke();
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                final int result = maxWidth;
+                final RuntimeException failure = error;
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (measurement.isCancelled || mMeasurement != measurement) {
+                            return;
+                        }
+                        mMeasurement = null;
+                        if (failure != null) {
+                            measurement.callback.onMeasureFailed(failure);
+                        } else {
+                            measurement.callback.onMeasured(result, measurement.widths);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 取消正在进行的测量
+     */
+    void cancel() {
+        if (mMeasurement != null) {
+            mMeasurement.isCancelled = true;
+            mMeasurement = null;
+        }
+    }
+
+    /**
+     * 是否有正在进行的测量
+     */
+    boolean isMeasuring() {
+        return mMeasurement != null;
+    }
+
+    private static final class Measurement {
+        final Object[] data;
+        final int[] widths;
+        final Paint paint;
+        final Callback callback;
+        volatile boolean isCancelled;
+
+        Measurement(Object[] data, Paint paint, Callback callback) {
+            this.data = data;
+            this.widths = new int[data.length];
+            this.paint = paint;
+            this.callback = callback;
+        }
+    }
+
+    private static final class MeasureTask extends RecursiveTask<Integer> {
+        private final Measurement mMeasurement;
+        private final int mStart;
+        private final int mEnd;
+
+        MeasureTask(Measurement measurement, int start, int end) {
+            mMeasurement = measurement;
+            mStart = start;
+            mEnd = end;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (mMeasurement.isCancelled) {
+                return 0;
+            }
+            if (mEnd - mStart <= LEAF_SIZE) {
+                // Paint不是线程安全的，每个任务使用各自的画笔副本
+                Paint paint = new Paint(mMeasurement.paint);
+                int maxWidth = 0;
+                for (int i = mStart; i < mEnd; i++) {
+                    int width = (int) paint.measureText(String.valueOf(mMeasurement.data[i]));
+                    mMeasurement.widths[i] = width;
+                    maxWidth = Math.max(maxWidth, width);
+                }
+                return maxWidth;
+            }
+            int middle = (mStart + mEnd) >>> 1;
+            MeasureTask left = new MeasureTask(mMeasurement, mStart, middle);
+            MeasureTask right = new MeasureTask(mMeasurement, middle, mEnd);
+            left.fork();
+            int rightWidth = right.compute();
+            return Math.max(left.join(), rightWidth);
+        }
+    }
+}
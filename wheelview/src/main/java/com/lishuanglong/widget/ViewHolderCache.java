@@ -0,0 +1,91 @@
+package com.lishuanglong.widget;
+
+/**
+ * 数据项容器缓存
+ * 与{@link LabelCache}一样采用直接映射的方式，但以未经循环处理的绘制位置对容量取模确定槽位。容量等于一次渲染
+ * 的数据项数量，即绘制的数据项数量加上条带缓存和圆柱网格上下各{@link FlatStripRenderer#EXTRA_ITEM_COUNT}个额外
+ * 的数据项，连续的渲染范围不会有两个数据项落在同一槽位，滚动一个数据项时滚出的数据项所在的槽位正好留给滚入的
+ * 数据项，因此每滚动一个数据项只需重新绑定一个容器，重新绘制条带时也不需要重新绑定
+ */
+final class ViewHolderCache {
+
+    private WheelItemRenderer.ViewHolder[] mHolders = new WheelItemRenderer.ViewHolder[0];
+
+    /**
+     * 计算绘制指定数量的数据项时需要的容量
+     *
+     * @param drawnItemCount 绘制的数据项数量
+     */
+    static int capacityFor(int drawnItemCount) {
+        return drawnItemCount + 2 * FlatStripRenderer.EXTRA_ITEM_COUNT;
+    }
+
+    /**
+     * 调整容量，容量改变时回收并丢弃全部容器
+     */
+    void resize(WheelItemRenderer<?> renderer, int capacity) {
+        if (capacity == mHolders.length) {
+            return;
+        }
+        recycleAll(renderer);
+        mHolders = new WheelItemRenderer.ViewHolder[capacity];
+    }
+
+    /**
+     * 获取绑定了指定数据项的容器，槽位中的容器绑定的是其他数据项或者数据已经改变时重新绑定
+     *
+     * @param drawnPos 数据项的绘制位置，未经过循环处理
+     * @param dataPos  数据项在数据源中的位置
+     */
+    WheelItemRenderer.ViewHolder obtain(WheelItemRenderer<?> renderer, WheelDataProvider provider,
+                                        int drawnPos, int dataPos, int dataVersion) {
+        int slot = drawnPos % mHolders.length;
+        if (slot < 0) {
+            slot += mHolders.length;
+        }
+        WheelItemRenderer.ViewHolder holder = mHolders[slot];
+        if (holder == null) {
+            holder = mHolders[slot] = renderer.createViewHolder();
+        }
+        if (holder.mPosition != dataPos || holder.mDataVersion != dataVersion) {
+            renderer.bindViewHolder(holder, provider, dataPos, dataVersion);
+        }
+        return holder;
+    }
+
+    /**
+     * 回收全部容器，容器本身保留以便下次绑定
+     */
+    void recycleAll(WheelItemRenderer<?> renderer) {
+        for (WheelItemRenderer.ViewHolder holder : mHolders) {
+            if (holder != null) {
+                renderer.recycleViewHolder(holder);
+            }
+        }
+    }
+
+    /**
+     * 回收绑定了指定范围内数据项的容器，下次获取时重新绑定，数据源中部分数据项的内容改变后调用
+     *
+     * @param positionStart 第一个改变的数据项位置
+     * @param itemCount     改变的数据项数量
+     */
+    void recycleRange(WheelItemRenderer<?> renderer, int positionStart, int itemCount) {
+        for (WheelItemRenderer.ViewHolder holder : mHolders) {
+            if (holder != null && holder.mPosition >= positionStart && holder.mPosition - positionStart < itemCount) {
+                renderer.recycleViewHolder(holder);
+            }
+        }
+    }
+
+    /**
+     * 丢弃全部容器，更换渲染器前必须先回收
+     */
+    void clear() {
+        mHolders = new WheelItemRenderer.ViewHolder[0];
+    }
+
+    int capacity() {
+        return mHolders.length;
+    }
+}
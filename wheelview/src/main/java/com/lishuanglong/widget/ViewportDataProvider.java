@@ -0,0 +1,52 @@
+package com.lishuanglong.widget;
+
+/**
+ * 关注滚轮可见范围的数据提供者接口
+ * 滚轮选择器绘制的数据项范围改变时会通知数据提供者，数据提供者可以据此按需加载数据；数据提供者的部分数据
+ * 项内容改变时（例如异步加载完成）通过{@link DataObserver}通知滚轮选择器，滚轮选择器只有在改变的数据项位于
+ * 绘制范围内时才会重新绘制
+ *
+ * @see PagedDataProvider
+ */
+public interface ViewportDataProvider extends WheelDataProvider {
+
+    /**
+     * 数据项内容改变监听接口，由滚轮选择器在设置数据提供者时注册
+     */
+    interface DataObserver {
+        /**
+         * 从指定位置开始的若干个数据项的内容已经改变，必须在主线程中调用
+         *
+         * @param positionStart 第一个改变的数据项位置
+         * @param itemCount     改变的数据项数量
+         */
+        void onItemRangeChanged(int positionStart, int itemCount);
+    }
+
+    /**
+     * 设置数据项内容改变监听器，滚轮选择器更换数据提供者时会以null注销
+     *
+     * @param observer 监听器
+     */
+    void setDataObserver(DataObserver observer);
+
+    /**
+     * 滚轮选择器绘制的数据项范围改变时回调，总是在主线程中执行
+     * 循环状态下范围可能越过数据末尾并从第一个数据项继续，即范围内的第i个数据项位于
+     * (firstPosition + i) % {@link #getItemCount()}
+     *
+     * @param firstPosition 绘制的第一个数据项的位置
+     * @param count         绘制的数据项数量
+     */
+    void onViewportChanged(int firstPosition, int count);
+
+    /**
+     * 滚轮选择器开始惯性滑动或动画滚动时回调，给出滚动停止后将会绘制的数据项范围，总是在主线程中执行
+     * 数据提供者可以据此提前准备停止位置的数据，使滚动停止前的最后几帧不必等待加载。范围的含义与
+     * {@link #onViewportChanged(int, int)}相同，滚动停止或者被用户中断后以数量0回调
+     *
+     * @param firstPosition 停止后绘制的第一个数据项的位置
+     * @param count         停止后绘制的数据项数量
+     */
+    void onScrollTargetChanged(int firstPosition, int count);
+}
@@ -0,0 +1,147 @@
+package com.lishuanglong.widget;
+
+/**
+ * 滚轮滚动回调分发器
+ * 滚动状态只在真正改变时回调；滚动距离在每一帧的帧回调中而不是绘制过程中回调，并且可以按最大回调频率限流，
+ * 或者只在位于中心的数据项改变时回调。滚动停止时最终位置的滚动距离总是在选中与静止回调之前立即回调，不受
+ * 限流影响
+ */
+final class WheelChangeDispatcher {
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private OnWheelChangeListener mListener;
+    private int mState = WheelView.SCROLL_STATE_IDLE;
+
+    /**
+     * 滚动距离回调的最小间隔，为0时每一帧都回调
+     */
+    private long mMinIntervalNanos;
+    private int mMaxRate;
+
+    /**
+     * 是否只在位于中心的数据项改变时回调滚动距离
+     */
+    private boolean isPerItem;
+
+    /**
+     * 最近一次回调的滚动距离、中心数据项位置以及回调时间
+     */
+    private int mLastOffset;
+    private int mLastCenterPosition = -1;
+    private long mLastDispatchNanos;
+
+    /**
+     * 是否有被限流跳过的滚动距离
+     */
+    private boolean hasPendingOffset;
+    private int mPendingOffset;
+
+    void setListener(OnWheelChangeListener listener) {
+        mListener = listener;
+    }
+
+    void setMaxRate(int callbacksPerSecond) {
+        mMaxRate = callbacksPerSecond;
+        mMinIntervalNanos = callbacksPerSecond == 0 ? 0 : NANOS_PER_SECOND / callbacksPerSecond;
+    }
+
+    int getMaxRate() {
+        return mMaxRate;
+    }
+
+    void setPerItem(boolean perItem) {
+        isPerItem = perItem;
+    }
+
+    boolean isPerItem() {
+        return isPerItem;
+    }
+
+    /**
+     * 滚动状态改变时回调，状态与上一次相同时不回调
+     */
+    void dispatchStateChanged(int state) {
+        if (state == mState) {
+            return;
+        }
+        if (state == WheelView.SCROLL_STATE_IDLE) {
+            flushScrolled();
+        }
+        mState = state;
+        if (mListener != null) {
+            mListener.onWheelScrollStateChanged(state);
+        }
+    }
+
+    /**
+     * 帧回调结束时回调滚动距离，距离没有改变、中心数据项没有改变或者距上一次回调不足最小间隔时不回调
+     *
+     * @param offset         距上一次滚动停止的滚动距离
+     * @param centerPosition 位于中心的数据项位置
+     * @param frameTimeNanos 帧时间
+     */
+    void dispatchScrolled(int offset, int centerPosition, long frameTimeNanos) {
+        if (mListener == null) {
+            return;
+        }
+        boolean isChanged = isPerItem ? centerPosition != mLastCenterPosition : offset != mLastOffset;
+        if (!isChanged && !hasPendingOffset) {
+            return;
+        }
+        mLastCenterPosition = centerPosition;
+        // 静止后不会再有帧回调，此时不限流以免最终位置被跳过
+        if (mState != WheelView.SCROLL_STATE_IDLE && mMinIntervalNanos > 0
+                && frameTimeNanos - mLastDispatchNanos < mMinIntervalNanos) {
+            if (isChanged) {
+                hasPendingOffset = true;
+                mPendingOffset = offset;
+            }
+            return;
+        }
+        hasPendingOffset = false;
+        mLastOffset = offset;
+        mLastDispatchNanos = frameTimeNanos;
+        mListener.onWheelScrolled(offset);
+    }
+
+    /**
+     * 滚动停止时立即回调停止位置的滚动距离，不受限流影响，随后以停止位置作为下一次滚动的起点
+     * 必须在回调选中的数据项与静止状态之前调用，使监听者先收到最终位置，并且静止后不会再收到归零的滚动距离
+     *
+     * @param offset         停止位置距上一次滚动停止的滚动距离
+     * @param centerPosition 停止时位于中心的数据项位置
+     */
+    void dispatchSettled(int offset, int centerPosition) {
+        boolean isChanged = isPerItem ? centerPosition != mLastCenterPosition : offset != mLastOffset;
+        if (mListener != null && (isChanged || hasPendingOffset)) {
+            mListener.onWheelScrolled(offset);
+        }
+        hasPendingOffset = false;
+        mLastOffset = 0;
+        mLastCenterPosition = centerPosition;
+    }
+
+    /**
+     * 补发被限流跳过的最后一次滚动距离
+     */
+    private void flushScrolled() {
+        if (!hasPendingOffset) {
+            return;
+        }
+        hasPendingOffset = false;
+        mLastOffset = mPendingOffset;
+        if (mListener != null) {
+            mListener.onWheelScrolled(mPendingOffset);
+        }
+    }
+
+    /**
+     * 选中的数据项改变时回调
+     */
+    void dispatchSelected(int position) {
+        if (mListener != null) {
+            mListener.onWheelSelected(position);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Paint;
+
+/**
+ * 滚轮选择器数据提供者接口
+ * 与{@link IWheelView#setData(java.util.List)}需要预先构建完整的数据列表不同，数据提供者只需要给出数据项数量，
+ * 滚轮选择器在绘制和选中时才会按位置向其索取数据项，因此对于0到10,000,000这样的超大范围数据，滚轮选择器占用的内
+ * 存与数据范围的大小无关
+ *
+ * @see IWheelView#setDataProvider(WheelDataProvider)
+ */
+public interface WheelDataProvider {
+
+    /**
+     * 获取数据项数量
+     *
+     * @return 数据项数量
+     */
+    int getItemCount();
+
+    /**
+     * 获取指定位置的数据项
+     * 该方法仅在数据项被选中时调用，返回的数据将会传递给{@link OnItemSelectedListener}
+     *
+     * @param position 数据项位置
+     * @return 数据项
+     */
+    Object getItem(int position);
+
+    /**
+     * 获取指定位置的数据项需要显示的文本
+     * 该方法会在绘制时被调用，滚轮选择器会缓存返回的文本，但仍应尽量避免在该方法中进行耗时操作
+     *
+     * @param position 数据项位置
+     * @return 数据项显示的文本
+     */
+    CharSequence getLabel(int position);
+
+    /**
+     * 获取数据项文本的最大宽度
+     * 滚轮选择器不会遍历数据提供者的全部数据项来确定自身宽度，如果数据提供者能够直接给出最大宽度，滚轮选择器会
+     * 将其作为滚轮选择器的宽度，否则只会测量当前可见的数据项
+     *
+     * @param paint 绘制数据项文本所用的画笔
+     * @return 数据项文本的最大宽度，单位：px，无法给出时返回-1
+     */
+    int getMaximumWidth(Paint paint);
+}
@@ -0,0 +1,145 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+/**
+ * 数据项渲染器
+ * 用于在数据项文本之外绘制图标、副标题等内容。滚轮选择器只持有与一次渲染的数据项数量相同的数据项容器，数据项滚出
+ * 绘制范围后其容器会被回收并绑定到新滚入的数据项上，与RecyclerView的ViewHolder相同
+ * 子类在{@link #onBindViewHolder(ViewHolder, WheelDataProvider, int)}中准备绘制所需的全部对象（文本、
+ * 从{@link #getDrawablePool()}取出的可绘制对象等），在{@link #onViewRecycled(ViewHolder)}中归还，
+ * {@link #onDraw(ViewHolder, Canvas, Paint, Rect, int, int)}只使用已经准备好的对象，绘制过程中不应当分配对象
+ * 卷曲效果、空气感效果以及选中数据项的文本颜色仍然生效：画布已经完成了卷曲变换和裁剪，画笔的颜色和透明度也已
+ * 设置为当前数据项应有的值，可绘制对象需要自行应用画笔的透明度
+ * 渲染器的全部方法都在主线程中调用
+ *
+ * @param <VH> 数据项容器类型
+ */
+public abstract class WheelItemRenderer<VH extends WheelItemRenderer.ViewHolder> {
+
+    /**
+     * 数据项容器，保存一个数据项绘制所需的对象
+     */
+    public static abstract class ViewHolder {
+
+        /**
+         * 绑定的数据项位置，-1表示没有绑定
+         */
+        int mPosition = -1;
+
+        /**
+         * 绑定时滚轮选择器的数据版本，数据改变后容器需要重新绑定
+         */
+        int mDataVersion;
+
+        /**
+         * 获取绑定的数据项位置
+         *
+         * @return 数据项位置，没有绑定时返回-1
+         */
+        public final int getPosition() {
+            return mPosition;
+        }
+    }
+
+    private final DrawablePool mDrawablePool;
+
+    /**
+     * 创建使用独立对象池的渲染器，对象池随渲染器一起被回收
+     */
+    public WheelItemRenderer() {
+        this(new DrawablePool(DrawablePool.DEFAULT_MAX_PER_RESOURCE));
+    }
+
+    /**
+     * 创建渲染器
+     *
+     * @param drawablePool 可绘制对象池
+     */
+    public WheelItemRenderer(DrawablePool drawablePool) {
+        if (drawablePool == null) {
+            throw new NullPointerException("Drawable pool can not be null!");
+        }
+        mDrawablePool = drawablePool;
+    }
+
+    public DrawablePool getDrawablePool() {
+        return mDrawablePool;
+    }
+
+    /**
+     * 创建数据项容器
+     *
+     * @return 数据项容器
+     */
+    protected abstract VH onCreateViewHolder();
+
+    /**
+     * 将数据项绑定到容器，准备绘制所需的对象
+     *
+     * @param holder   数据项容器
+     * @param provider 数据提供者
+     * @param position 数据项位置
+     */
+    protected abstract void onBindViewHolder(VH holder, WheelDataProvider provider, int position);
+
+    /**
+     * 容器被回收前回调，子类应当在此将可绘制对象归还对象池，默认不做任何处理
+     *
+     * @param holder 数据项容器
+     */
+    protected void onViewRecycled(VH holder) {
+    }
+
+    /**
+     * 绘制数据项
+     *
+     * @param holder   已经绑定的数据项容器
+     * @param canvas   画布
+     * @param paint    画笔，颜色、透明度、文本尺寸、字体和对齐方式均已按当前数据项设置好，绘制后需要还原改动
+     * @param itemRect 数据项区域，左右为滚轮内容区域的边界，上下为数据项的边界，绘制期间不能保存其引用
+     * @param textX    数据项文本按画笔对齐方式绘制时的X坐标
+     * @param baseline 数据项文本的基线Y坐标
+     */
+    protected abstract void onDraw(VH holder, Canvas canvas, Paint paint, Rect itemRect, int textX, int baseline);
+
+    /**
+     * 获取数据项在文本之外额外占用的宽度，滚轮选择器测量自身宽度时会加上该宽度，默认为0
+     *
+     * @param paint 绘制数据项文本的画笔
+     * @return 额外宽度，单位：px
+     */
+    public int getExtraWidth(Paint paint) {
+        return 0;
+    }
+
+    final ViewHolder createViewHolder() {
+        return onCreateViewHolder();
+    }
+
+    /**
+     * 回收容器原先绑定的数据项后绑定新的数据项
+     */
+    @SuppressWarnings("unchecked")
+    final void bindViewHolder(ViewHolder holder, WheelDataProvider provider, int position, int dataVersion) {
+        recycleViewHolder(holder);
+        holder.mPosition = position;
+        holder.mDataVersion = dataVersion;
+        onBindViewHolder((VH) holder, provider, position);
+    }
+
+    @SuppressWarnings("unchecked")
+    final void recycleViewHolder(ViewHolder holder) {
+        if (holder.mPosition >= 0) {
+            onViewRecycled((VH) holder);
+            holder.mPosition = -1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    final void drawViewHolder(ViewHolder holder, Canvas canvas, Paint paint, Rect itemRect, int textX, int baseline) {
+        onDraw((VH) holder, canvas, paint, itemRect, textX, baseline);
+    }
+}
@@ -0,0 +1,125 @@
+package com.lishuanglong.widget;
+
+/**
+ * 滚轮选择器性能指标快照
+ * 通过{@link IWheelView#getMetrics(WheelMetrics)}获取，快照对象可以重复使用，获取指标时不会产生新的对象
+ *
+ * @see IWheelView#setMetricsEnabled(boolean)
+ */
+public class WheelMetrics {
+
+    long frameCount;
+    long totalFrameDurationNanos;
+    long maxFrameDurationNanos;
+    long lastFrameDurationNanos;
+    int lastDrawnItemCount;
+    long flingCount;
+    int lastFlingFrameCount;
+    long lateFrameCount;
+    long droppedFrameCount;
+    long lastSelectionLatencyNanos = -1;
+    long[] recentFrameDurations = new long[0];
+    int recentFrameCount;
+
+    /**
+     * 获取已绘制的帧数
+     *
+     * @return 已绘制的帧数
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * 获取平均每帧onDraw耗时
+     *
+     * @return 平均每帧onDraw耗时，单位：ns
+     */
+    public long getAverageFrameDurationNanos() {
+        return frameCount == 0 ? 0 : totalFrameDurationNanos / frameCount;
+    }
+
+    /**
+     * 获取单帧onDraw的最大耗时
+     *
+     * @return 单帧onDraw的最大耗时，单位：ns
+     */
+    public long getMaxFrameDurationNanos() {
+        return maxFrameDurationNanos;
+    }
+
+    /**
+     * 获取最近一帧onDraw的耗时
+     *
+     * @return 最近一帧onDraw的耗时，单位：ns
+     */
+    public long getLastFrameDurationNanos() {
+        return lastFrameDurationNanos;
+    }
+
+    /**
+     * 获取最近一帧绘制的数据项数量
+     *
+     * @return 最近一帧绘制的数据项数量
+     */
+    public int getLastDrawnItemCount() {
+        return lastDrawnItemCount;
+    }
+
+    /**
+     * 获取已完成的滚动动画次数
+     *
+     * @return 已完成的滚动动画次数
+     */
+    public long getFlingCount() {
+        return flingCount;
+    }
+
+    /**
+     * 获取最近一次滚动动画所用的帧数
+     *
+     * @return 最近一次滚动动画所用的帧数
+     */
+    public int getLastFlingFrameCount() {
+        return lastFlingFrameCount;
+    }
+
+    /**
+     * 获取滚动动画中迟到的帧数，即与上一帧的间隔超过屏幕刷新间隔1.5倍的帧数
+     *
+     * @return 迟到的帧数
+     */
+    public long getLateFrameCount() {
+        return lateFrameCount;
+    }
+
+    /**
+     * 获取滚动动画中因迟到而跳过的屏幕刷新次数
+     *
+     * @return 跳过的屏幕刷新次数
+     */
+    public long getDroppedFrameCount() {
+        return droppedFrameCount;
+    }
+
+    /**
+     * 获取最近一次从手指抬起到回调{@link OnItemSelectedListener#onItemSelected(WheelView, Object, int)}的耗时
+     *
+     * @return 耗时，单位：ns，尚无数据时返回-1
+     */
+    public long getLastSelectionLatencyNanos() {
+        return lastSelectionLatencyNanos;
+    }
+
+    /**
+     * 获取最近若干帧onDraw的耗时，按从旧到新的顺序复制到数组中
+     *
+     * @param out 用于接收耗时的数组，单位：ns
+     * @return 复制的帧数
+     */
+    public int getRecentFrameDurations(long[] out) {
+        int count = Math.min(out.length, recentFrameCount);
+        System.arraycopy(recentFrameDurations, recentFrameCount - count, out, 0, count);
+        return count;
+    }
+}
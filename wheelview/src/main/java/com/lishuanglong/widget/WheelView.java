@@ -2,7 +2,6 @@ package com.lishuanglong.widget;
 
 import android.content.Context;
 import android.content.res.TypedArray;
-import android.graphics.Camera;
 import android.graphics.Canvas;
 import android.graphics.Matrix;
 import android.graphics.Paint;
@@ -10,19 +9,25 @@ import android.graphics.Rect;
 import android.graphics.Region;
 import android.graphics.Typeface;
 import android.os.Build;
-import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.view.Choreographer;
 import android.view.MotionEvent;
 import android.view.VelocityTracker;
 import android.view.View;
 import android.view.ViewConfiguration;
-import android.widget.Scroller;
+
+import com.lishuanglong.core.DecayScrollPhysics;
+import com.lishuanglong.core.ScrollPhysics;
+import com.lishuanglong.core.WheelLayout;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * A WheelView for Android.
@@ -34,8 +39,32 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
 
     private static final String TAG = WheelView.class.getSimpleName();
 
+    /**
+     * 默认跳转时以动画滚动的最大数据项数量
+     */
+    private static final int DEFAULT_SEEK_ITEM_COUNT = 10;
+
+    /**
+     * 预取时向前预估的滚动时长，单位：ms
+     */
+    private static final int PREFETCH_LOOKAHEAD_MILLIS = 100;
+
+    /**
+     * 惯性滑动的剩余距离不超过绘制数据项数量的该倍数时预热停止位置的数据项
+     * 文本缓存是直接映射的，渲染缓存的容量也有限，过早预热的数据项会在滑动途中被经过的数据项挤出
+     */
+    private static final int TARGET_WARM_MULTIPLIER = 2;
+
     /**
      * 数据源
+     *
+     * @see #setData(List)
+     * @see #setDataProvider(WheelDataProvider)
+     */
+    private WheelDataProvider mProvider;
+
+    /**
+     * 通过{@link #getData()}返回的数据列表
      */
     private List mData;
 
@@ -61,6 +90,19 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
      */
     private int mSelectedItemPosition;
 
+    /**
+     * 滚动偏移为0时位于滚轮中心的数据项位置，即滚动偏移的基准位置
+     * 滚轮每次静止时基准位置都会移动到当前数据项上并将滚动偏移归零，使滚动偏移不会随着滚动次数累积而溢出
+     */
+    private int mAnchorPosition;
+
+    /**
+     * 跳转时以动画滚动的最大数据项数量
+     *
+     * @see #setSeekItemCount(int)
+     */
+    private int mSeekItemCount = DEFAULT_SEEK_ITEM_COUNT;
+
     /**
      * 滚轮选择器的每一个数据项文本是否拥有相同的宽度
      *
@@ -145,6 +187,14 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
      */
     private boolean hasAtmospheric;
 
+    /**
+     * 空气感效果的实现方式，渐变遮罩模式下的遮罩在首次使用时创建
+     *
+     * @see #setAtmosphericMode(int)
+     */
+    private int mAtmosphericMode = ATMOSPHERIC_MODE_ITEM_ALPHA;
+    private AtmosphericMask mAtmosphericMask;
+
     /**
      * 滚轮是否为卷曲效果
      *
@@ -170,9 +220,11 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     private Paint mPaint;
 
     /**
-     * 用于处理滚动效果的工具类
+     * 计算惯性滑动与动画滚动的滚动模型
+     *
+     * @see #setScrollPhysics(ScrollPhysics)
      */
-    private Scroller mScroller;
+    private ScrollPhysics mScrollPhysics = new DecayScrollPhysics();
 
     /**
      * 滚轮滑动时的最小/最大速度
@@ -190,9 +242,12 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     private Rect mRectIndicatorFoot;
     private Rect mRectCurrentItem;
 
-    private Camera mCamera;
     private Matrix mMatrixRotate;
-    private Matrix mMatrixDepth;
+
+    /**
+     * 卷曲效果下数据项几何参数表
+     */
+    private CurvedGeometry mCurvedGeometry;
 
     /**
      * 单个文本最大宽高
@@ -235,7 +290,11 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     private int mMaxFlingY;
 
     private OnItemSelectedListener mOnItemSelectedListener;
-    private OnWheelChangeListener mOnWheelChangeListener;
+
+    /**
+     * 分发{@link OnWheelChangeListener}的回调，滚动状态去重，滚动距离在帧回调中按需限流
+     */
+    private final WheelChangeDispatcher mChangeDispatcher = new WheelChangeDispatcher();
 
     /**
      * 数据项对齐方式标识值
@@ -246,6 +305,14 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     public static final int ALIGN_LEFT = 1;
     public static final int ALIGN_RIGHT = 2;
 
+    /**
+     * 空气感效果实现方式标识值
+     *
+     * @see #setAtmosphericMode(int)
+     */
+    public static final int ATMOSPHERIC_MODE_ITEM_ALPHA = 0;
+    public static final int ATMOSPHERIC_MODE_GRADIENT_MASK = 1;
+
     /**
      * 滚动状态标识值
      *
@@ -255,6 +322,30 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     public static final int SCROLL_STATE_DRAGGING = 1;
     public static final int SCROLL_STATE_SCROLLING = 2;
 
+    /**
+     * 属性修改后需要执行的更新操作标识值
+     *
+     * @see #beginEdit()
+     */
+    private static final int CHANGE_TEXT_SIZE = 1;
+    private static final int CHANGE_DRAWN_CENTER = 1 << 1;
+    private static final int CHANGE_FLING_LIMIT = 1 << 2;
+    private static final int CHANGE_INDICATOR_RECT = 1 << 3;
+    private static final int CHANGE_CURRENT_ITEM_RECT = 1 << 4;
+    private static final int CHANGE_CURVED_GEOMETRY = 1 << 5;
+    private static final int CHANGE_LAYOUT = 1 << 6;
+    private static final int CHANGE_DRAW = 1 << 7;
+    private static final int CHANGE_STRIP = 1 << 8;
+
+    /**
+     * 批量修改的嵌套层数以及批量修改期间累积的更新操作
+     *
+     * @see #beginEdit()
+     * @see #commitEdit()
+     */
+    private int mEditDepth;
+    private int mPendingChanges;
+
     /**
      * 滚轮选择器视图区域在Y轴方向上的偏移值
      */
@@ -286,9 +377,19 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     private boolean isForceFinishScroll;
 
     /**
-     * 用户手指上一次触摸事件发生时事件Y坐标
+     * 用户手指上一次触摸事件发生时事件Y坐标，保留触摸屏报告的亚像素精度
+     */
+    private float mLastPointY;
+
+    /**
+     * 拖动产生但尚未应用到滚动偏移的距离，包含上一帧应用后剩余的不足一像素的部分
+     */
+    private float mPendingDragY;
+
+    /**
+     * 是否有等待在下一帧应用的拖动
      */
-    private int mLastPointY;
+    private boolean isDragPending;
 
     /**
      * 手指触摸屏幕时事件点的Y坐标
@@ -300,7 +401,280 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
      */
     private boolean isClick;
 
-    private final Handler mHandler = new Handler();
+    /**
+     * 驱动滚动动画的帧回调
+     * 帧回调与屏幕的垂直同步信号对齐，滚动模型以当前帧的时间戳求出滚动位置，因此在任何刷新率的屏幕上每一帧
+     * 都恰好推进一次滚动，掉帧时也会直接跳到该时刻应有的位置
+     */
+    private final Choreographer.FrameCallback mFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            isFrameScheduled = false;
+            mFrameTimeNanos = frameTimeNanos;
+            // 只为拖动请求的帧不能进入run()，否则拖动中的偏移会被当作滚动停止的位置
+            boolean isDragFrame = isDragPending;
+            if (isDragPending) {
+                applyPendingDrag();
+            }
+            if (!isDragFrame || !mScrollPhysics.isFinished()) {
+                if (mMetrics != null) {
+                    mMetrics.onAnimationFrame(frameTimeNanos);
+                }
+                run();
+            }
+            dispatchScrolled(frameTimeNanos);
+        }
+    };
+
+    /**
+     * 是否已经请求了下一帧的帧回调
+     */
+    private boolean isFrameScheduled;
+
+    /**
+     * 当前帧的时间戳，与{@link System#nanoTime()}同源
+     */
+    private long mFrameTimeNanos;
+
+    /**
+     * 滚动时预取的最大数据项数量，为0时不预取
+     *
+     * @see #setPrefetchDepth(int)
+     */
+    private int mPrefetchDepth;
+
+    /**
+     * 等待预取的第一个数据项的绘制位置以及数据项数量
+     */
+    private int mPrefetchStart;
+    private int mPrefetchCount;
+
+    /**
+     * 是否已经请求了主线程空闲时的预取
+     */
+    private boolean isPrefetchScheduled;
+
+    /**
+     * 滚动停止后绘制的第一个数据项的绘制位置，未经过循环或越界处理
+     */
+    private int mTargetStart;
+
+    /**
+     * 停止位置是否尚未预热以及是否在下一次空闲预取时预热
+     */
+    private boolean isTargetPending;
+    private boolean isTargetWarming;
+
+    /**
+     * 是否已经将停止范围通知{@link ViewportDataProvider}，滚动停止或者被中断后需要以数量0撤销
+     */
+    private boolean isTargetDispatched;
+
+    /**
+     * 在主线程两帧之间的空闲时间里预取即将滚入的数据项
+     */
+    private final MessageQueue.IdleHandler mPrefetchHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            isPrefetchScheduled = false;
+            prefetchItems();
+            return false;
+        }
+    };
+
+    /**
+     * 是否异步测量数据项文本宽度
+     *
+     * @see #setAsyncMeasureEnabled(boolean)
+     */
+    private boolean isAsyncMeasure;
+
+    /**
+     * 数据项文本宽度异步测量工具
+     */
+    private final TextWidthMeasurer mTextWidthMeasurer = new TextWidthMeasurer();
+
+    /**
+     * 异步测量是否因脱离窗口而被取消，重新附着到窗口时需要重新测量
+     */
+    private boolean isMeasureInterrupted;
+
+    /**
+     * 数据项文本前缀索引，未开启时为null
+     *
+     * @see #setPrefixIndexEnabled(boolean)
+     */
+    private PrefixIndex mPrefixIndex;
+    private Locale mPrefixIndexLocale = Locale.getDefault();
+
+    /**
+     * 前缀索引构建完成前请求跳转的前缀以及是否以动画方式跳转
+     */
+    private String mPendingPrefix;
+    private boolean isPendingPrefixAnimated;
+
+    /**
+     * 最近一次通知{@link ViewportDataProvider}的绘制范围，尚未通知时数量为0
+     */
+    private int mViewportFirstPosition;
+    private int mViewportCount;
+
+    /**
+     * 是否已经请求了通知{@link ViewportDataProvider}绘制范围改变
+     */
+    private boolean isViewportDispatchPosted;
+
+    /**
+     * 在绘制过程之外通知{@link ViewportDataProvider}最近一次绘制的范围，使数据提供者加载页面的代码不在绘制过程中执行
+     */
+    private final Runnable mViewportDispatcher = new Runnable() {
+        @Override
+        public void run() {
+            isViewportDispatchPosted = false;
+            if (mProvider instanceof ViewportDataProvider && mViewportCount > 0) {
+                ((ViewportDataProvider) mProvider).onViewportChanged(mViewportFirstPosition, mViewportCount);
+            }
+        }
+    };
+
+    /**
+     * 接收{@link ViewportDataProvider}数据项内容改变的通知，只有改变的数据项位于绘制范围内时才重新绘制
+     * 页面加载完成只是将占位文本替换为数据项文本，不会改变数据项数量，因此只清除改变范围内的缓存而不重新测量
+     * 文本宽度或重建前缀索引，滚轮选择器的宽度应当由{@link IWheelView#setMaximumWidthText(String)}等方式给出
+     */
+    private final ViewportDataProvider.DataObserver mViewportDataObserver = new ViewportDataProvider.DataObserver() {
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            mLabelCache.invalidate(positionStart, itemCount);
+            if (mRenderCache != null) {
+                mRenderCache.invalidate(positionStart, itemCount);
+            }
+            if (mItemRenderer != null) {
+                mHolderCache.recycleRange(mItemRenderer, positionStart, itemCount);
+            }
+            // 条带在滚动越过其边界前一直有效，此时它最多包含绘制范围上下各两倍额外数量的数据项
+            if (isInViewport(positionStart, itemCount, 2 * FlatStripRenderer.EXTRA_ITEM_COUNT)) {
+                mDataVersion++;
+            }
+            if (isInViewport(positionStart, itemCount, 0)) {
+                invalidate();
+            }
+        }
+    };
+
+    private final PrefixIndex.Callback mPrefixIndexCallback = new PrefixIndex.Callback() {
+        @Override
+        public void onBuilt() {
+            if (mPendingPrefix != null) {
+                jumpToPrefix(mPendingPrefix, isPendingPrefixAnimated);
+            }
+        }
+
+        @Override
+        public void onBuildFailed(RuntimeException e) {
+            // 索引无法构建时放弃等待中的跳转，否则它会一直等待下去
+            Log.w(TAG, "Failed to build wheel's prefix index", e);
+            mPendingPrefix = null;
+        }
+    };
+
+    /**
+     * 异步测量完成后更新最大文本宽度，并以各数据项的宽度建立宽度索引，之后的数据项改变通知可以增量更新
+     */
+    private final TextWidthMeasurer.Callback mMeasureCallback = new TextWidthMeasurer.Callback() {
+        @Override
+        public void onMeasured(int maxWidth, int[] widths) {
+            if (isDebug) {
+                Log.d(TAG, "Wheel's text max width measured asynchronously: " + maxWidth);
+            }
+            mWidthIndex.reset();
+            for (int width : widths) {
+                mWidthIndex.add(width);
+            }
+            if (maxWidth != mTextMaxWidth) {
+                mTextMaxWidth = maxWidth;
+                requestLayout();
+            }
+            invalidate();
+        }
+
+        @Override
+        public void onMeasureFailed(RuntimeException e) {
+            // 测量失败时保留以可见数据项临时得出的宽度
+            Log.w(TAG, "Failed to measure wheel's text width asynchronously", e);
+        }
+    };
+
+    /**
+     * 数据项文本缓存
+     *
+     * @see #setLabelCacheSize(int)
+     */
+    private final LabelCache mLabelCache = new LabelCache(LabelCache.DEFAULT_CAPACITY);
+
+    /**
+     * 数据项文本宽度索引，只有最大宽度通过同步或异步测量全部数据得出时才有效，异步测量期间无效
+     *
+     * @see #notifyItemRangeInserted(int, int)
+     */
+    private final TextWidthIndex mWidthIndex = new TextWidthIndex();
+
+    /**
+     * 平面滚轮条带缓存，未开启时为null
+     *
+     * @see #setStripCacheEnabled(boolean)
+     */
+    private FlatStripRenderer mStripRenderer;
+
+    /**
+     * 卷曲滚轮圆柱网格，未开启时为null
+     *
+     * @see #setCurvedMeshEnabled(boolean)
+     */
+    private CylinderMesh mCylinderMesh;
+
+    /**
+     * 数据版本，数据源或数据项内容改变时递增，用于判断条带缓存是否失效
+     */
+    private int mDataVersion;
+
+    /**
+     * 性能指标记录器，未开启时为null
+     *
+     * @see #setMetricsEnabled(boolean)
+     */
+    private FrameMetricsRecorder mMetrics;
+
+    /**
+     * 数值范围数据的文本格式化缓冲区，数据源不是{@link NumberRangeProvider}时为null
+     */
+    private char[] mLabelChars;
+
+    /**
+     * 数据项渲染缓存，未开启时为null
+     *
+     * @see #setRenderCacheEnabled(boolean)
+     */
+    private ItemRenderCache mRenderCache;
+    private int mRenderCacheMaxBytes = ItemRenderCache.DEFAULT_MAX_BYTES;
+
+    /**
+     * 数据项渲染器，未设置时只绘制数据项文本
+     *
+     * @see #setItemRenderer(WheelItemRenderer)
+     */
+    private WheelItemRenderer<?> mItemRenderer;
+    private final ViewHolderCache mHolderCache = new ViewHolderCache();
+
+    /**
+     * 传递给数据项渲染器的数据项区域，每次绘制时复用
+     */
+    private final Rect mRectItem = new Rect();
+
+    /**
+     * 用于绘制渲染缓存位图的画笔
+     */
+    private final Paint mBitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
 
     public WheelView(Context context) {
         this(context, null);
@@ -312,6 +686,7 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
 
     public WheelView(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
+        mScrollPhysics.bind(this);
         init(context, attrs);
     }
 
@@ -328,6 +703,9 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
 
         // 计算原始内容尺寸，宽高
         int resultWidth = mTextMaxWidth;
+        if (mItemRenderer != null) {
+            resultWidth += mItemRenderer.getExtraWidth(mPaint);
+        }
         int resultHeight = mTextMaxHeight * mVisibleItemCount + mItemSpace * (mVisibleItemCount - 1);
 
         // 如果开启弯曲效果则需要重新计算弯曲后的尺寸
@@ -384,130 +762,130 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
 
         // 计算当前选中的数据项区域
         computeCurrentItemRect();
+
+        // 计算卷曲效果下数据项几何参数表
+        computeCurvedGeometry();
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
-        if (mOnWheelChangeListener != null) {
-            mOnWheelChangeListener.onWheelScrolled(mScrollOffsetY);
-        }
+        long drawStartNanos = mMetrics != null ? System.nanoTime() : 0;
+        int drawnItemCount = 0;
 
-        int drawnDataStartPos = -mScrollOffsetY / mItemHeight - mHalfDrawnItemCount;
+        int drawnDataStartPos = WheelLayout.computeFirstDrawnPosition(mScrollOffsetY, mItemHeight, mAnchorPosition, mHalfDrawnItemCount);
+        int itemCount = mProvider.getItemCount();
 
-        for (int drawnDataPos = drawnDataStartPos + mSelectedItemPosition, drawnOffsetPos = -mHalfDrawnItemCount;
-             drawnDataPos < drawnDataStartPos + mSelectedItemPosition + mDrawnItemCount; drawnDataPos++, drawnOffsetPos++) {
+        if (mProvider instanceof ViewportDataProvider) {
+            dispatchViewportChanged(drawnDataStartPos, itemCount);
+        }
 
-            String data = "";
-            if (isCyclic) {
-                int actualPos = drawnDataPos % mData.size();
-                actualPos = actualPos < 0 ? (actualPos + mData.size()) : actualPos;
-                data = String.valueOf(mData.get(actualPos));
-            } else {
-                if (isPosInRang(drawnDataPos))
-                    data = String.valueOf(mData.get(drawnDataPos));
-            }
+        if (mRenderCache != null) {
+            mRenderCache.validate(mPaint);
+        }
+        if (mItemRenderer != null) {
+            mHolderCache.resize(mItemRenderer, ViewHolderCache.capacityFor(mDrawnItemCount));
+        }
 
-            mPaint.setColor(mItemTextColor);
-            mPaint.setStyle(Paint.Style.FILL);
+        if (isCurved) {
+            computeCurvedGeometry();
+        }
 
-            int mDrawnItemCenterY = mDrawnCenterY + (drawnOffsetPos * mItemHeight) + mScrollOffsetY % mItemHeight;
+        // 渐变遮罩模式下数据项以不透明的颜色绘制到离屏图层中，绘制完成后一次性应用空气感效果
+        boolean isMaskFade = hasAtmospheric && mAtmosphericMode == ATMOSPHERIC_MODE_GRADIENT_MASK;
+        int layerCount = -1;
+        if (isMaskFade) {
+            if (mAtmosphericMask == null) {
+                mAtmosphericMask = new AtmosphericMask();
+            }
+            mAtmosphericMask.ensure(mWheelCenterY, mDrawnCenterY, mRectDrawn.top, mHalfWheelHeight, isCurved);
+            layerCount = canvas.saveLayer(mRectDrawn.left, mRectDrawn.top, mRectDrawn.right, mRectDrawn.bottom, null);
+        }
 
-            /*********************************************************************************/
-            int distanceToCenter = 0;
-            if (isCurved) {
-                // 计算数据项绘制中心距离滚轮中心的距离比率
-                float ratio = (mDrawnCenterY - Math.abs(mDrawnCenterY - mDrawnItemCenterY) - mRectDrawn.top) * 1.0F / (mDrawnCenterY - mRectDrawn.top);
+        if (canDrawFlatStrip()) {
+            drawnItemCount = drawFlatStrip(canvas, drawnDataStartPos, itemCount);
+        } else if (canDrawCurvedMesh()) {
+            drawnItemCount = drawCurvedMesh(canvas, drawnDataStartPos, itemCount);
+        } else {
+            for (int drawnDataPos = drawnDataStartPos, drawnOffsetPos = -mHalfDrawnItemCount;
+                 drawnDataPos < drawnDataStartPos + mDrawnItemCount; drawnDataPos++, drawnOffsetPos++) {
 
-                // 计算单位
-                int unit = 0;
-                if (mDrawnItemCenterY > mDrawnCenterY) {
-                    unit = 1;
-                } else if (mDrawnItemCenterY < mDrawnCenterY) {
-                    unit = -1;
+                int dataPos = WheelLayout.toDataPosition(drawnDataPos, itemCount, isCyclic);
+                if (dataPos >= 0) {
+                    drawnItemCount++;
                 }
 
-                float degree = (-(1 - ratio) * 90 * unit);
-                if (degree < -90) {
-                    degree = -90;
-                }
-                if (degree > 90) {
-                    degree = 90;
-                }
+                mPaint.setColor(mItemTextColor);
+                mPaint.setStyle(Paint.Style.FILL);
 
-                distanceToCenter = computeSpace((int) degree);
+                int mDrawnItemCenterY = mDrawnCenterY + WheelLayout.computeItemCenterOffset(drawnOffsetPos, mScrollOffsetY, mItemHeight);
 
-                int transX = mWheelCenterX;
-                switch (mItemAlign) {
-                    case ALIGN_LEFT:
-                        transX = mRectDrawn.left;
-                        break;
-                    case ALIGN_RIGHT:
-                        transX = mRectDrawn.right;
-                        break;
+                int distanceToCenter = 0;
+                if (isCurved) {
+                    // 卷曲效果下的几何参数只与数据项距绘制中心的距离有关，直接查表获取
+                    int dy = mDrawnItemCenterY - mDrawnCenterY;
+                    distanceToCenter = mCurvedGeometry.getDistanceToCenter(dy);
+                    mCurvedGeometry.getMatrix(dy, mMatrixRotate);
+                    if (hasItemAlphaFade()) {
+                        mPaint.setAlpha(mCurvedGeometry.getAlpha(dy));
+                    }
+                } else if (hasItemAlphaFade()) {
+                    int alpha = (int) ((mDrawnCenterY - Math.abs(mDrawnCenterY - mDrawnItemCenterY)) * 1.0F / mDrawnCenterY * 255);
+                    alpha = alpha < 0 ? 0 : alpha;
+                    mPaint.setAlpha(alpha);
                 }
-                int transY = mWheelCenterY - distanceToCenter;
-
-                mCamera.save();
-                mCamera.rotateX(degree);
-                mCamera.getMatrix(mMatrixRotate);
-                mCamera.restore();
-                mMatrixRotate.preTranslate(-transX, -transY);
-                mMatrixRotate.postTranslate(transX, transY);
-
-                mCamera.save();
-                mCamera.translate(0, 0, computeDepth((int) degree));
-                mCamera.getMatrix(mMatrixDepth);
-                mCamera.restore();
-                mMatrixDepth.preTranslate(-transX, -transY);
-                mMatrixDepth.postTranslate(transX, transY);
-
-                mMatrixRotate.postConcat(mMatrixDepth);
-            }
-            /*********************************************************************************/
 
-
-            if (hasAtmospheric) {
-                int alpha = (int) ((mDrawnCenterY - Math.abs(mDrawnCenterY - mDrawnItemCenterY)) * 1.0F / mDrawnCenterY * 255);
-                alpha = alpha < 0 ? 0 : alpha;
-                mPaint.setAlpha(alpha);
+                // 根据卷曲与否计算数据项绘制Y方向中心坐标
+                int drawnCenterY = isCurved ? mDrawnCenterY - distanceToCenter : mDrawnItemCenterY;
+
+                // 判断是否需要为当前数据项绘制不同颜色
+                if (mSelectedItemTextColor != -1) {
+                    if (intersectsCurrentItem(drawnCenterY)) {
+                        // 只有与选中区域相交的数据项才需要以两种颜色分别裁剪绘制
+                        canvas.save();
+                        if (isCurved) canvas.concat(mMatrixRotate);
+                        canvas.clipRect(mRectCurrentItem, Region.Op.DIFFERENCE);
+                        drawItemText(canvas, drawnDataPos, dataPos, drawnCenterY);
+                        canvas.restore();
+
+                        mPaint.setColor(mSelectedItemTextColor);
+                        canvas.save();
+                        if (isCurved) canvas.concat(mMatrixRotate);
+                        canvas.clipRect(mRectCurrentItem);
+                        drawItemText(canvas, drawnDataPos, dataPos, drawnCenterY);
+                        canvas.restore();
+                    } else if (isCurved) {
+                        canvas.save();
+                        canvas.concat(mMatrixRotate);
+                        drawItemText(canvas, drawnDataPos, dataPos, drawnCenterY);
+                        canvas.restore();
+                    } else {
+                        drawItemText(canvas, drawnDataPos, dataPos, drawnCenterY);
+                    }
+                } else {
+                    canvas.save();
+                    canvas.clipRect(mRectDrawn);
+                    if (isCurved) canvas.concat(mMatrixRotate);
+                    drawItemText(canvas, drawnDataPos, dataPos, drawnCenterY);
+                    canvas.restore();
+                }
+                if (isDebug) {
+                    canvas.save();
+                    canvas.clipRect(mRectDrawn);
+                    mPaint.setColor(0xFFEE3333);
+                    int lineCenterY = mWheelCenterY + (drawnOffsetPos * mItemHeight);
+                    canvas.drawLine(mRectDrawn.left, lineCenterY, mRectDrawn.right, lineCenterY, mPaint);
+                    mPaint.setColor(0xFF3333EE);
+                    mPaint.setStyle(Paint.Style.STROKE);
+                    int top = lineCenterY - mHalfItemHeight;
+                    canvas.drawRect(mRectDrawn.left, top, mRectDrawn.right, top + mItemHeight, mPaint);
+                    canvas.restore();
+                }
             }
+        }
 
-            // 根据卷曲与否计算数据项绘制Y方向中心坐标
-            int drawnCenterY = isCurved ? mDrawnCenterY - distanceToCenter : mDrawnItemCenterY;
-
-            // 判断是否需要为当前数据项绘制不同颜色
-            if (mSelectedItemTextColor != -1) {
-                canvas.save();
-                if (isCurved) canvas.concat(mMatrixRotate);
-                canvas.clipRect(mRectCurrentItem, Region.Op.DIFFERENCE);
-                canvas.drawText(data, mDrawnCenterX, drawnCenterY, mPaint);
-                canvas.restore();
-
-                mPaint.setColor(mSelectedItemTextColor);
-                canvas.save();
-                if (isCurved) canvas.concat(mMatrixRotate);
-                canvas.clipRect(mRectCurrentItem);
-                canvas.drawText(data, mDrawnCenterX, drawnCenterY, mPaint);
-                canvas.restore();
-            } else {
-                canvas.save();
-                canvas.clipRect(mRectDrawn);
-                if (isCurved) canvas.concat(mMatrixRotate);
-                canvas.drawText(data, mDrawnCenterX, drawnCenterY, mPaint);
-                canvas.restore();
-            }
-            if (isDebug) {
-                canvas.save();
-                canvas.clipRect(mRectDrawn);
-                mPaint.setColor(0xFFEE3333);
-                int lineCenterY = mWheelCenterY + (drawnOffsetPos * mItemHeight);
-                canvas.drawLine(mRectDrawn.left, lineCenterY, mRectDrawn.right, lineCenterY, mPaint);
-                mPaint.setColor(0xFF3333EE);
-                mPaint.setStyle(Paint.Style.STROKE);
-                int top = lineCenterY - mHalfItemHeight;
-                canvas.drawRect(mRectDrawn.left, top, mRectDrawn.right, top + mItemHeight, mPaint);
-                canvas.restore();
-            }
+        if (isMaskFade) {
+            mAtmosphericMask.draw(canvas, mRectDrawn);
+            canvas.restoreToCount(layerCount);
         }
 
         // 是否需要绘制幕布
@@ -531,54 +909,318 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
             canvas.drawRect(getWidth() - getPaddingRight(), 0, getWidth(), getHeight(), mPaint);
             canvas.drawRect(0, getHeight() - getPaddingBottom(), getWidth(), getHeight(), mPaint);
         }
+
+        if (mMetrics != null) {
+            mMetrics.onDraw(System.nanoTime() - drawStartNanos, drawnItemCount);
+        }
     }
 
-    @Override
-    public boolean onTouchEvent(MotionEvent event) {
-        switch (event.getAction()) {
-            case MotionEvent.ACTION_DOWN:
-                isTouchTriggered = true;
-                if (getParent() != null) {
-                    getParent().requestDisallowInterceptTouchEvent(true);
-                }
+    /**
+     * 当前是否可以使用条带缓存绘制数据项
+     */
+    private boolean canDrawFlatStrip() {
+        return mStripRenderer != null && !isCurved && !hasItemAlphaFade() && mSelectedItemTextColor == -1 && !isDebug;
+    }
 
-                if (mTracker == null) {
-                    mTracker = VelocityTracker.obtain();
-                } else {
-                    mTracker.clear();
-                }
-                mTracker.addMovement(event);
+    /**
+     * 空气感效果是否需要逐项修改画笔透明度
+     */
+    private boolean hasItemAlphaFade() {
+        return hasAtmospheric && mAtmosphericMode == ATMOSPHERIC_MODE_ITEM_ALPHA;
+    }
 
-                if (!mScroller.isFinished()) {
-                    mScroller.abortAnimation();
-                    isForceFinishScroll = true;
-                }
-                mDownPointY = mLastPointY = (int) event.getY();
+    /**
+     * 使用条带缓存绘制数据项，绘制范围越过条带边界或绘制配置改变时重新绘制条带
+     *
+     * @return 绘制的数据项数量
+     */
+    private int drawFlatStrip(Canvas canvas, int drawnDataStartPos, int itemCount) {
+        renderStrip(mStripRenderer, drawnDataStartPos, itemCount, mItemTextColor, mItemHeight);
 
-                break;
-            case MotionEvent.ACTION_MOVE:
-                if (Math.abs(mDownPointY - event.getY()) < mTouchSlop) {
-                    isClick = true;
-                    break;
-                }
+        int top = mWheelCenterY - mHalfItemHeight + mScrollOffsetY % mItemHeight
+                + (mStripRenderer.getFirstPosition() - drawnDataStartPos - mHalfDrawnItemCount) * mItemHeight;
+        canvas.save();
+        canvas.clipRect(mRectDrawn);
+        mStripRenderer.draw(canvas, mRectDrawn.left, top);
+        canvas.restore();
+        return countDrawnItems(drawnDataStartPos, itemCount);
+    }
 
-                isClick = false;
+    /**
+     * 当前是否可以使用圆柱网格绘制卷曲滚轮
+     */
+    private boolean canDrawCurvedMesh() {
+        return mCylinderMesh != null && isCurved && !isDebug;
+    }
 
-                mTracker.addMovement(event);
+    /**
+     * 使用圆柱网格绘制卷曲滚轮
+     * 条带中的数据项按弧长平铺，间距为数据项高度在圆柱表面对应的弧长；设置了选中数据项文本颜色时以该颜色再绘制
+     * 一张条带，两张条带分别裁剪到选中区域内外以同一网格绘制
+     *
+     * @return 绘制的数据项数量
+     */
+    private int drawCurvedMesh(Canvas canvas, int drawnDataStartPos, int itemCount) {
+        // 卷曲效果下距绘制中心dy的数据项旋转角度为dy / (mDrawnCenterY - mRectDrawn.top) * 90°，对应的弧长为k * dy
+        float arcRatio = (float) (mHalfWheelHeight * Math.PI / 2 / (mDrawnCenterY - mRectDrawn.top));
+        int pitch = Math.max(1, Math.round(mItemHeight * arcRatio));
+
+        FlatStripRenderer strip = mCylinderMesh.getStrip();
+        renderStrip(strip, drawnDataStartPos, itemCount, mItemTextColor, pitch);
+        boolean hasSelectedColor = mSelectedItemTextColor != -1;
+        if (hasSelectedColor) {
+            renderStrip(mCylinderMesh.getSelectedStrip(), drawnDataStartPos, itemCount, mSelectedItemTextColor, pitch);
+        }
 
-                if (mOnWheelChangeListener != null) {
-                    mOnWheelChangeListener.onWheelScrollStateChanged(SCROLL_STATE_DRAGGING);
-                }
+        // 条带中当前位于滚轮中心的一行像素
+        float centerInStrip = strip.getPadding()
+                + (drawnDataStartPos + mHalfDrawnItemCount - strip.getFirstPosition()) * pitch + pitch / 2F
+                - mScrollOffsetY % mItemHeight * arcRatio;
+        int pivotX = mWheelCenterX;
+        switch (mItemAlign) {
+            case ALIGN_LEFT:
+                pivotX = mRectDrawn.left;
+                break;
+            case ALIGN_RIGHT:
+                pivotX = mRectDrawn.right;
+                break;
+        }
+        mCylinderMesh.update(strip.getHeight(), centerInStrip, mRectDrawn.left, mRectDrawn.right, pivotX,
+                mWheelCenterY, mHalfWheelHeight, hasItemAlphaFade() ? arcRatio * mDrawnCenterY : 0);
 
-                // 滚动内容
-                float move = event.getY() - mLastPointY;
-                if (Math.abs(move) < 1) {
-                    break;
+        canvas.save();
+        canvas.clipRect(mRectDrawn);
+        if (hasSelectedColor) {
+            canvas.clipRect(mRectCurrentItem, Region.Op.DIFFERENCE);
+        }
+        mCylinderMesh.draw(canvas, strip);
+        canvas.restore();
+        if (hasSelectedColor) {
+            canvas.save();
+            canvas.clipRect(mRectCurrentItem);
+            mCylinderMesh.draw(canvas, mCylinderMesh.getSelectedStrip());
+            canvas.restore();
+        }
+        return countDrawnItems(drawnDataStartPos, itemCount);
+    }
+
+    /**
+     * 确保条带包含当前绘制范围内的数据项，绘制范围越过条带边界或绘制配置改变时重新绘制条带
+     *
+     * @param color 数据项文本颜色
+     * @param pitch 条带中相邻数据项的间距
+     */
+    private void renderStrip(FlatStripRenderer strip, int drawnDataStartPos, int itemCount, int color, int pitch) {
+        int signature = computeStripSignature(color, pitch);
+        if (strip.covers(drawnDataStartPos, mDrawnItemCount, signature)) {
+            return;
+        }
+        int first = drawnDataStartPos - FlatStripRenderer.EXTRA_ITEM_COUNT;
+        int count = mDrawnItemCount + 2 * FlatStripRenderer.EXTRA_ITEM_COUNT;
+        Canvas stripCanvas = strip.beginRender(first, count, mRectDrawn.width(), pitch, mTextMaxHeight, signature);
+        stripCanvas.translate(-mRectDrawn.left, 0);
+        mPaint.setColor(color);
+        mPaint.setStyle(Paint.Style.FILL);
+        // 条带中第j个数据项的中心线位于 j * pitch + pitch / 2 处
+        int baselineOffset = pitch / 2 + mDrawnCenterY - mWheelCenterY;
+        for (int i = 0; i < count; i++) {
+            drawItemText(stripCanvas, first + i, WheelLayout.toDataPosition(first + i, itemCount, isCyclic), i * pitch + baselineOffset);
+        }
+        strip.endRender();
+    }
+
+    /**
+     * 计算绘制范围内有效数据项的数量
+     */
+    private int countDrawnItems(int drawnDataStartPos, int itemCount) {
+        int drawnItemCount = 0;
+        for (int i = 0; i < mDrawnItemCount; i++) {
+            if (WheelLayout.toDataPosition(drawnDataStartPos + i, itemCount, isCyclic) >= 0) {
+                drawnItemCount++;
+            }
+        }
+        return drawnItemCount;
+    }
+
+    /**
+     * 计算条带缓存的绘制配置签名，影响条带内容的任一配置改变都会使签名改变
+     */
+    private int computeStripSignature(int color, int pitch) {
+        int result = mDataVersion;
+        result = 31 * result + color;
+        result = 31 * result + pitch;
+        result = 31 * result + Float.floatToIntBits(mPaint.getTextSize());
+        result = 31 * result + System.identityHashCode(mPaint.getTypeface());
+        result = 31 * result + mItemAlign;
+        result = 31 * result + mRectDrawn.width();
+        result = 31 * result + mItemHeight;
+        result = 31 * result + mDrawnCenterX - mRectDrawn.left;
+        result = 31 * result + mDrawnCenterY - mWheelCenterY;
+        return result;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        updateMetricsRefreshRate();
+        // 脱离窗口期间开始的滚动动画需要重新请求帧回调
+        if (!mScrollPhysics.isFinished()) {
+            postFrame();
+        }
+        if (isMeasureInterrupted) {
+            isMeasureInterrupted = false;
+            mTextWidthMeasurer.measure(mData, mPaint, mMeasureCallback);
+        }
+        if (mPrefixIndex != null && !mPrefixIndex.isReady() && !mPrefixIndex.isBuilding()) {
+            rebuildPrefixIndex();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (mTextWidthMeasurer.isMeasuring()) {
+            mTextWidthMeasurer.cancel();
+            isMeasureInterrupted = true;
+        }
+        if (mPrefixIndex != null) {
+            mPrefixIndex.cancel();
+        }
+        if (isFrameScheduled) {
+            Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+            isFrameScheduled = false;
+        }
+        // 脱离窗口后不再有帧回调推进滚动，直接停在滚动的停止位置，否则滚轮会一直停留在两个数据项之间
+        if (!mScrollPhysics.isFinished()) {
+            mScrollPhysics.abortAnimation();
+            mScrollOffsetY = mScrollPhysics.getFinalY();
+            run();
+        }
+        if (isPrefetchScheduled) {
+            Looper.myQueue().removeIdleHandler(mPrefetchHandler);
+            isPrefetchScheduled = false;
+        }
+        // 脱离窗口后回收渲染缓存中的位图
+        if (mRenderCache != null) {
+            mRenderCache.clear();
+        }
+        if (mStripRenderer != null) {
+            mStripRenderer.release();
+        }
+        if (mCylinderMesh != null) {
+            mCylinderMesh.release();
+        }
+        // 回收数据项容器，使其持有的可绘制对象回到对象池中
+        if (mItemRenderer != null) {
+            mHolderCache.recycleAll(mItemRenderer);
+        }
+    }
+
+    /**
+     * 判断数据项文本是否可能与当前选中的数据项区域相交
+     * 数据项文本以其绘制中心为基准上下延伸不超过文本最大高度，卷曲效果下文本只会因透视而缩小，因此只要数据项
+     * 中心到滚轮中心的距离不小于半个数据项高度加上文本最大高度，文本就一定落在选中区域之外
+     *
+     * @param drawnCenterY 数据项绘制Y方向中心坐标
+     */
+    private boolean intersectsCurrentItem(int drawnCenterY) {
+        return Math.abs(drawnCenterY - mDrawnCenterY) < mHalfItemHeight + mTextMaxHeight;
+    }
+
+    /**
+     * 以mPaint当前的颜色与透明度绘制数据项
+     * 设置了数据项渲染器时交由渲染器绘制；开启渲染缓存时绘制缓存的位图；数值范围数据直接格式化到字符数组中绘制；
+     * 其余情况绘制缓存的文本
+     *
+     * @param drawnPos 数据项的绘制位置，未经过循环或越界处理
+     * @param dataPos  数据项在数据源中的位置，小于0时表示该位置没有数据项
+     */
+    private void drawItemText(Canvas canvas, int drawnPos, int dataPos, int drawnCenterY) {
+        if (dataPos < 0) {
+            return;
+        }
+        if (mItemRenderer != null) {
+            WheelItemRenderer.ViewHolder holder = mHolderCache.obtain(mItemRenderer, mProvider, drawnPos, dataPos, mDataVersion);
+            int itemCenterY = drawnCenterY - mDrawnCenterY + mWheelCenterY;
+            mRectItem.set(mRectDrawn.left, itemCenterY - mHalfItemHeight, mRectDrawn.right, itemCenterY + mHalfItemHeight);
+            mItemRenderer.drawViewHolder(holder, canvas, mPaint, mRectItem, mDrawnCenterX, drawnCenterY);
+            return;
+        }
+        if (mRenderCache != null) {
+            // 空气感效果会改写画笔的透明度，此时以不透明的颜色缓存文本并在绘制位图时再应用透明度
+            int color = hasAtmospheric ? mPaint.getColor() | 0xFF000000 : mPaint.getColor();
+            ItemRenderCache.Entry entry = mRenderCache.get(dataPos, color);
+            if (entry == null) {
+                entry = mRenderCache.put(dataPos, color, mLabelCache.get(mProvider, dataPos));
+            }
+            // 文本为空或渲染结果超出内存预算时不会被缓存，此时直接绘制文本
+            if (entry != null) {
+                mBitmapPaint.setAlpha(hasAtmospheric ? mPaint.getAlpha() : 0xFF);
+                canvas.drawBitmap(entry.bitmap, mDrawnCenterX - entry.anchorX, drawnCenterY - entry.baseline, mBitmapPaint);
+                return;
+            }
+        }
+        if (mLabelChars != null) {
+            int length = ((NumberRangeProvider) mProvider).getLabel(dataPos, mLabelChars);
+            canvas.drawText(mLabelChars, 0, length, mDrawnCenterX, drawnCenterY, mPaint);
+        } else {
+            CharSequence data = mLabelCache.get(mProvider, dataPos);
+            canvas.drawText(data, 0, data.length(), mDrawnCenterX, drawnCenterY, mPaint);
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        switch (event.getAction()) {
+            case MotionEvent.ACTION_DOWN:
+                isTouchTriggered = true;
+                if (getParent() != null) {
+                    getParent().requestDisallowInterceptTouchEvent(true);
                 }
 
-                mScrollOffsetY += move;
-                mLastPointY = (int) event.getY();
-                invalidate();
+                if (mTracker == null) {
+                    mTracker = VelocityTracker.obtain();
+                } else {
+                    mTracker.clear();
+                }
+                mTracker.addMovement(event);
+                mPendingDragY = 0;
+                isDragPending = false;
+
+                if (!mScrollPhysics.isFinished()) {
+                    mScrollPhysics.abortAnimation();
+                    if (mMetrics != null) {
+                        mMetrics.onAnimationFinished();
+                    }
+                    isForceFinishScroll = true;
+                    rebaseScrollOffset();
+                    clearScrollTarget();
+                }
+                mDownPointY = (int) event.getY();
+                mLastPointY = event.getY();
+
+                break;
+            case MotionEvent.ACTION_MOVE:
+                // 高采样率的触摸屏会把两次分发之间的多个采样合并到一个事件的历史记录中，VelocityTracker会连同历史
+                // 采样一起记录，使抬起时的速度估计不丢失这些采样
+                mTracker.addMovement(event);
+
+                if (Math.abs(mDownPointY - event.getY()) < mTouchSlop) {
+                    isClick = true;
+                    break;
+                }
+
+                isClick = false;
+
+                mChangeDispatcher.dispatchStateChanged(SCROLL_STATE_DRAGGING);
+
+                // 历史采样之间的位移首尾相消，只需累加最新采样的位移，一帧内的多个事件在下一帧合并为一次滚动
+                mPendingDragY += event.getY() - mLastPointY;
+                mLastPointY = event.getY();
+                if (!isDragPending) {
+                    isDragPending = true;
+                    postFrame();
+                }
 
                 break;
             case MotionEvent.ACTION_UP:
@@ -591,6 +1233,9 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
                 }
 
                 mTracker.addMovement(event);
+                // 惯性滑动必须从手指抬起时的真实位置开始
+                mPendingDragY += event.getY() - mLastPointY;
+                applyPendingDrag();
 
                 if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.DONUT) {
                     mTracker.computeCurrentVelocity(1000, mMaximumVelocity);
@@ -601,25 +1246,20 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
                 // 根据速度判断是该滚动还是滑动
                 isForceFinishScroll = false;
 
-                int velocity = (int) mTracker.getYVelocity();
-
-                if (Math.abs(velocity) > mMinimumVelocity) {
-                    mScroller.fling(0, mScrollOffsetY, 0, velocity, 0, 0, mMinFlingY, mMaxFlingY);
-                    mScroller.setFinalY(mScroller.getFinalY() + computeDistanceToEndPoint(mScroller.getFinalY() % mItemHeight));
-                } else {
-                    mScroller.startScroll(0, mScrollOffsetY, 0, computeDistanceToEndPoint(mScrollOffsetY % mItemHeight));
+                if (mMetrics != null) {
+                    mMetrics.onTouchUp(System.nanoTime());
                 }
 
-                // 校正坐标
-                if (!isCyclic) {
-                    if (mScroller.getFinalY() > mMaxFlingY) {
-                        mScroller.setFinalY(mMaxFlingY);
-                    } else if (mScroller.getFinalY() < mMinFlingY) {
-                        mScroller.setFinalY(mMinFlingY);
-                    }
+                int velocity = (int) mTracker.getYVelocity();
+                if (Math.abs(velocity) <= mMinimumVelocity) {
+                    velocity = 0;
                 }
 
-                mHandler.post(this);
+                // 停止位置在开始时即已对齐到数据项并限制在滑动边界内，速度为0时直接对齐到最近的数据项
+                mScrollPhysics.fling(mScrollOffsetY, velocity, mMinFlingY, mMaxFlingY, mItemHeight, System.nanoTime());
+
+                startScrollTarget();
+                postFrame();
                 if (mTracker != null) {
                     mTracker.recycle();
                     mTracker = null;
@@ -639,38 +1279,278 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
         return true;
     }
 
+    /**
+     * 在帧回调结束时分发滚动距离，绘制过程中不再执行任何监听器代码
+     */
+    private void dispatchScrolled(long frameTimeNanos) {
+        int itemCount = mProvider == null ? 0 : mProvider.getItemCount();
+        if (itemCount == 0 || mItemHeight == 0) {
+            return;
+        }
+        int centerPosition = mAnchorPosition - Math.round((float) mScrollOffsetY / mItemHeight);
+        mChangeDispatcher.dispatchScrolled(mScrollOffsetY,
+                WheelLayout.toDataPosition(centerPosition, itemCount, isCyclic), frameTimeNanos);
+    }
+
+    /**
+     * 将累计的拖动距离中完整的像素应用到滚动偏移，不足一像素的部分留到下一次
+     */
+    private void applyPendingDrag() {
+        isDragPending = false;
+        int dy = (int) mPendingDragY;
+        if (dy == 0) {
+            return;
+        }
+        mPendingDragY -= dy;
+        mScrollOffsetY += dy;
+        invalidate();
+    }
+
     @Override
     public void run() {
-        if (mData == null || mData.size() == 0) {
+        int itemCount = mProvider == null ? 0 : mProvider.getItemCount();
+        if (itemCount == 0) {
             return;
         }
-        if (mScroller.isFinished() && !isForceFinishScroll) {
-            if (mItemHeight == 0) {
-                return;
+        if (mScrollPhysics.computeScrollOffset(mFrameTimeNanos)) {
+            mChangeDispatcher.dispatchStateChanged(SCROLL_STATE_SCROLLING);
+            mScrollOffsetY = mScrollPhysics.getCurrY();
+            invalidate();
+            if (isTargetPending && Math.abs(mScrollPhysics.getFinalY() - mScrollOffsetY)
+                    <= (long) TARGET_WARM_MULTIPLIER * mDrawnItemCount * mItemHeight) {
+                isTargetPending = false;
+                isTargetWarming = true;
+                requestIdlePrefetch();
             }
-            int position = (-mScrollOffsetY / mItemHeight + mSelectedItemPosition) % mData.size();
-            position = position < 0 ? position + mData.size() : position;
-            if (isDebug) {
-                Log.d(TAG, position + ":" + mData.get(position) + ":" + mScrollOffsetY);
+            if (mPrefetchDepth > 0) {
+                schedulePrefetch();
             }
+        }
 
-            mCurrentItemPosition = position;
-            if (mOnItemSelectedListener != null && isTouchTriggered) {
-                mOnItemSelectedListener.onItemSelected(this, mData.get(position), position);
+        // 滚动尚未结束则等待下一帧，结束后不再请求帧回调
+        if (!mScrollPhysics.isFinished()) {
+            postFrame();
+            return;
+        }
+        if (mMetrics != null) {
+            mMetrics.onAnimationFinished();
+        }
+        clearScrollTarget();
+        if (isForceFinishScroll || mItemHeight == 0) {
+            return;
+        }
+
+        int position = WheelLayout.computeCurrentPosition(mScrollOffsetY, mItemHeight, mAnchorPosition, itemCount);
+        if (isDebug) {
+            Log.d(TAG, position + ":" + mProvider.getLabel(position) + ":" + mScrollOffsetY);
+        }
+
+        // 重新设定基准位置前先回调停止位置的滚动距离，随后的帧回调不会再回调归零后的滚动距离
+        mChangeDispatcher.dispatchSettled(mScrollOffsetY, position);
+        mCurrentItemPosition = position;
+        // 静止时滚动偏移恰好是数据项高度的整数倍，以当前数据项为新的基准位置并将偏移归零
+        mAnchorPosition = position;
+        mScrollOffsetY = 0;
+        computeFlingLimitY();
+        if (mMetrics != null && isTouchTriggered) {
+            mMetrics.onItemSelected(System.nanoTime());
+        }
+        if (mOnItemSelectedListener != null && isTouchTriggered) {
+            mOnItemSelectedListener.onItemSelected(this, mProvider.getItem(position), position);
+        }
+
+        if (isTouchTriggered) {
+            mChangeDispatcher.dispatchSelected(position);
+        } else {
+            // 以动画方式设置的选中位置在动画结束后才生效
+            mSelectedItemPosition = position;
+        }
+        // 选中回调只针对用户触摸，静止状态则总是回调，与动画过程中回调的滑动状态成对出现
+        mChangeDispatcher.dispatchStateChanged(SCROLL_STATE_IDLE);
+    }
+
+    /**
+     * 绘制范围改变时记录新的范围，并请求在绘制过程结束后通知{@link ViewportDataProvider}
+     *
+     * @param drawnDataStartPos 绘制的第一个数据项的位置，未经过循环或越界处理
+     * @param itemCount         数据项数量
+     */
+    private void dispatchViewportChanged(int drawnDataStartPos, int itemCount) {
+        int first = toRangeFirst(drawnDataStartPos, itemCount);
+        int count = toRangeCount(drawnDataStartPos, itemCount);
+        if (count <= 0 || (first == mViewportFirstPosition && count == mViewportCount)) {
+            return;
+        }
+        mViewportFirstPosition = first;
+        mViewportCount = count;
+        if (!isViewportDispatchPosted) {
+            isViewportDispatchPosted = true;
+            post(mViewportDispatcher);
+        }
+    }
+
+    /**
+     * 将绘制位置转换为通知{@link ViewportDataProvider}的范围中第一个数据项的位置
+     */
+    private int toRangeFirst(int drawnDataStartPos, int itemCount) {
+        return isCyclic ? WheelLayout.toDataPosition(drawnDataStartPos, itemCount, true) : Math.max(drawnDataStartPos, 0);
+    }
+
+    /**
+     * 计算从指定绘制位置开始绘制时通知{@link ViewportDataProvider}的范围中的数据项数量
+     */
+    private int toRangeCount(int drawnDataStartPos, int itemCount) {
+        if (isCyclic) {
+            return Math.min(mDrawnItemCount, itemCount);
+        }
+        return Math.min(drawnDataStartPos + mDrawnItemCount, itemCount) - Math.max(drawnDataStartPos, 0);
+    }
+
+    /**
+     * 滚动开始时根据滚动的最终位置确定停止后绘制的数据项
+     * 立即将停止范围通知{@link ViewportDataProvider}，使其在滑动途中就开始加载停止位置的数据；文本和渲染
+     * 结果则在剩余距离足够近时才预热，见{@link #TARGET_WARM_MULTIPLIER}
+     */
+    private void startScrollTarget() {
+        int itemCount = mProvider.getItemCount();
+        if (mItemHeight == 0 || itemCount == 0) {
+            return;
+        }
+        mTargetStart = WheelLayout.computeFirstDrawnPosition(mScrollPhysics.getFinalY(), mItemHeight, mAnchorPosition, mHalfDrawnItemCount);
+        isTargetPending = true;
+        isTargetWarming = false;
+        if (mProvider instanceof ViewportDataProvider) {
+            int count = toRangeCount(mTargetStart, itemCount);
+            if (count > 0) {
+                isTargetDispatched = true;
+                ((ViewportDataProvider) mProvider).onScrollTargetChanged(toRangeFirst(mTargetStart, itemCount), count);
+            }
+        }
+    }
+
+    /**
+     * 滚动停止或者被中断后清除停止位置
+     */
+    private void clearScrollTarget() {
+        isTargetPending = false;
+        isTargetWarming = false;
+        if (isTargetDispatched) {
+            isTargetDispatched = false;
+            if (mProvider instanceof ViewportDataProvider) {
+                ((ViewportDataProvider) mProvider).onScrollTargetChanged(0, 0);
             }
+        }
+    }
 
-            if (mOnWheelChangeListener != null && isTouchTriggered) {
-                mOnWheelChangeListener.onWheelSelected(position);
-                mOnWheelChangeListener.onWheelScrollStateChanged(SCROLL_STATE_IDLE);
+    /**
+     * 判断数据项范围是否与最近一次通知的绘制范围相交
+     *
+     * @param extra 绘制范围上下两端各额外包含的数据项数量
+     */
+    private boolean isInViewport(int positionStart, int itemCount, int extra) {
+        int size = mProvider.getItemCount();
+        if (size <= 0) {
+            return false;
+        }
+        for (int i = -extra; i < mViewportCount + extra; i++) {
+            long position = (long) mViewportFirstPosition + i;
+            if (isCyclic) {
+                position = (position % size + size) % size;
+            } else if (position < 0 || position >= size) {
+                continue;
+            }
+            if (position >= positionStart && position - positionStart < itemCount) {
+                return true;
             }
         }
-        if (mScroller.computeScrollOffset()) {
-            if (mOnWheelChangeListener != null) {
-                mOnWheelChangeListener.onWheelScrollStateChanged(SCROLL_STATE_SCROLLING);
+        return false;
+    }
+
+    /**
+     * 根据滚动方向和速度确定即将滚入的数据项，并请求在主线程空闲时预取
+     * 滚动偏移增大时位于顶部之前的数据项滚入，反之位于底部之后的数据项滚入，预取的数量为按当前速度在
+     * {@link #PREFETCH_LOOKAHEAD_MILLIS}内将会滚入的数据项数量，且不超过预取深度
+     */
+    private void schedulePrefetch() {
+        if (mItemHeight == 0) {
+            return;
+        }
+        int distance = (int) (mScrollPhysics.getCurrVelocity() * PREFETCH_LOOKAHEAD_MILLIS / 1000);
+        int count = Math.min(mPrefetchDepth, distance / mItemHeight + 1);
+        // 预取的文本不能挤占正在绘制的数据项在文本缓存中的槽位
+        count = Math.min(count, mLabelCache.capacity() - mDrawnItemCount);
+        if (count <= 0) {
+            return;
+        }
+        int firstDrawnPos = WheelLayout.computeFirstDrawnPosition(mScrollOffsetY, mItemHeight, mAnchorPosition, mHalfDrawnItemCount);
+        mPrefetchStart = mScrollPhysics.getFinalY() > mScrollOffsetY ? firstDrawnPos - count : firstDrawnPos + mDrawnItemCount;
+        mPrefetchCount = count;
+        requestIdlePrefetch();
+    }
+
+    /**
+     * 请求在主线程空闲时预取，多次请求只会执行一次
+     */
+    private void requestIdlePrefetch() {
+        if (!isPrefetchScheduled) {
+            isPrefetchScheduled = true;
+            Looper.myQueue().addIdleHandler(mPrefetchHandler);
+        }
+    }
+
+    /**
+     * 预取停止位置以及即将滚入的数据项
+     */
+    private void prefetchItems() {
+        int itemCount = mProvider.getItemCount();
+        if (itemCount == 0) {
+            return;
+        }
+        int color = hasAtmospheric ? mItemTextColor | 0xFF000000 : mItemTextColor;
+        if (mRenderCache != null) {
+            mRenderCache.validate(mPaint);
+        }
+        if (isTargetWarming) {
+            isTargetWarming = false;
+            for (int drawnPos = mTargetStart; drawnPos < mTargetStart + mDrawnItemCount; drawnPos++) {
+                prefetchItem(drawnPos, itemCount, color);
             }
-            mScrollOffsetY = mScroller.getCurrY();
-            postInvalidate();
-            mHandler.postDelayed(this, 16);
+        }
+        for (int drawnPos = mPrefetchStart; drawnPos < mPrefetchStart + mPrefetchCount; drawnPos++) {
+            prefetchItem(drawnPos, itemCount, color);
+        }
+        mPrefetchCount = 0;
+    }
+
+    /**
+     * 预取数据项的文本，并预先完成文本排版或者光栅化
+     * 开启渲染缓存时直接将数据项光栅化到渲染缓存中，否则通过测量文本使系统的文本排版缓存中保存这些数据项的排版
+     * 结果；数值范围数据的文本是直接格式化的，只需预先排版
+     */
+    private void prefetchItem(int drawnPos, int itemCount, int color) {
+        int dataPos = WheelLayout.toDataPosition(drawnPos, itemCount, isCyclic);
+        // 数据项渲染器直接从数据提供者绑定数据，预取会挤占正在绘制的数据项容器
+        if (dataPos < 0 || mItemRenderer != null) {
+            return;
+        }
+        if (mRenderCache != null) {
+            mRenderCache.prefetch(dataPos, color, mLabelCache.get(mProvider, dataPos));
+        } else if (mLabelChars != null) {
+            int length = ((NumberRangeProvider) mProvider).getLabel(dataPos, mLabelChars);
+            mPaint.measureText(mLabelChars, 0, length);
+        } else {
+            CharSequence label = mLabelCache.prefetch(mProvider, dataPos);
+            mPaint.measureText(label, 0, label.length());
+        }
+    }
+
+    /**
+     * 请求在下一帧推进滚动动画，同一帧内多次请求只会回调一次
+     */
+    private void postFrame() {
+        if (!isFrameScheduled) {
+            isFrameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(mFrameCallback);
         }
     }
 
@@ -688,7 +1568,7 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     public void setVisibleItemCount(int count) {
         mVisibleItemCount = count;
         updateVisibleItemCount();
-        requestLayout();
+        applyChanges(CHANGE_LAYOUT);
     }
 
     @Override
@@ -699,8 +1579,7 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     @Override
     public void setCyclic(boolean isCyclic) {
         this.isCyclic = isCyclic;
-        computeFlingLimitY();
-        invalidate();
+        applyChanges(CHANGE_FLING_LIMIT | CHANGE_DRAW);
     }
 
     @Override
@@ -734,71 +1613,272 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
         if (data == null) {
             throw new NullPointerException("WheelPicker's data can not be null!");
         }
-
-        mData = data;
-
-        // 重置位置
-        if (mSelectedItemPosition > data.size() - 1 || mCurrentItemPosition > data.size() - 1) {
-            mSelectedItemPosition = mCurrentItemPosition = data.size() - 1;
-        } else {
-            mSelectedItemPosition = mCurrentItemPosition;
-        }
-        mScrollOffsetY = 0;
-        computeTextSize();
-        computeFlingLimitY();
-        requestLayout();
-        invalidate();
+        applyDataProvider(new ListDataProvider(data), data);
     }
 
-    public void setSameWidth(boolean hasSameWidth) {
-        this.hasSameWidth = hasSameWidth;
-        computeTextSize();
-        requestLayout();
-        invalidate();
+    @Override
+    public WheelDataProvider getDataProvider() {
+        return mProvider;
     }
 
     @Override
-    public boolean hasSameWidth() {
-        return hasSameWidth;
+    public void setDataProvider(WheelDataProvider provider) {
+        if (provider == null) {
+            throw new NullPointerException("WheelPicker's data provider can not be null!");
+        }
+        applyDataProvider(provider, new DataProviderList(provider));
     }
 
-
     @Override
-    public void setOnWheelChangeListener(OnWheelChangeListener listener) {
-        mOnWheelChangeListener = listener;
+    public void notifyDataSetChanged() {
+        anchorCurrentItem(mCurrentItemPosition, mSelectedItemPosition, 0);
+        int oldTextMaxWidth = mTextMaxWidth;
+        int oldTextMaxHeight = mTextMaxHeight;
+        computeTextSize();
+        onItemsChanged(oldTextMaxWidth, oldTextMaxHeight);
     }
 
     @Override
-    public String getMaximumWidthText() {
-        return mMaxWidthText;
+    public void notifyItemChanged(int position) {
+        notifyItemRangeChanged(position, 1);
     }
 
     @Override
-    public void setMaximumWidthText(String text) {
-        if (null == text)
-            throw new NullPointerException("Maximum width text can not be null!");
-        mMaxWidthText = text;
-        computeTextSize();
-        requestLayout();
-        invalidate();
+    public void notifyItemRangeChanged(int positionStart, int itemCount) {
+        checkItemRange(positionStart, itemCount, mProvider.getItemCount());
+        int oldTextMaxWidth = mTextMaxWidth;
+        int oldTextMaxHeight = mTextMaxHeight;
+        if (isWidthIndexed(0)) {
+            for (int i = positionStart; i < positionStart + itemCount; i++) {
+                mWidthIndex.set(i, measureLabel(i));
+            }
+            mTextMaxWidth = mWidthIndex.maxWidth();
+        } else {
+            computeTextSize();
+        }
+        onItemsChanged(oldTextMaxWidth, oldTextMaxHeight);
     }
 
     @Override
-    public int getMaximumWidthTextPosition() {
-        return mTextMaxWidthPosition;
+    public void notifyItemRangeInserted(int positionStart, int itemCount) {
+        checkItemRange(positionStart, itemCount, mProvider.getItemCount());
+        if (itemCount == 0) {
+            return;
+        }
+        // 插入位置不晚于当前数据项时，当前数据项随之后移，选中的数据项同理
+        anchorCurrentItem(WheelLayout.shiftForInsert(mCurrentItemPosition, positionStart, itemCount),
+                WheelLayout.shiftForInsert(mSelectedItemPosition, positionStart, itemCount),
+                mCurrentItemPosition >= positionStart ? itemCount : 0);
+
+        int oldTextMaxWidth = mTextMaxWidth;
+        int oldTextMaxHeight = mTextMaxHeight;
+        if (isWidthIndexed(itemCount)) {
+            mWidthIndex.insert(positionStart, itemCount);
+            for (int i = positionStart; i < positionStart + itemCount; i++) {
+                mWidthIndex.set(i, measureLabel(i));
+            }
+            mTextMaxWidth = mWidthIndex.maxWidth();
+        } else {
+            computeTextSize();
+        }
+        onItemsChanged(oldTextMaxWidth, oldTextMaxHeight);
     }
 
     @Override
-    public void setMaximumWidthTextPosition(int position) {
-        if (!isPosInRang(position))
-            throw new ArrayIndexOutOfBoundsException("Maximum width text Position must in [0, " +
-                    mData.size() + "), but current is " + position);
-        mTextMaxWidthPosition = position;
+    public void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        checkItemRange(positionStart, 0, mProvider.getItemCount());
+        if (itemCount < 0) {
+            throw new IllegalArgumentException("Item count can not be negative, but current is " + itemCount);
+        }
+        if (itemCount == 0) {
+            return;
+        }
+        // 当前数据项在删除范围之后时随之前移，被删除时选中删除范围之后的第一个数据项，选中的数据项同理
+        int positionEnd = positionStart + itemCount;
+        if (mCurrentItemPosition >= positionStart && mCurrentItemPosition < positionEnd && !mScrollPhysics.isFinished()) {
+            mScrollPhysics.abortAnimation();
+        }
+        anchorCurrentItem(WheelLayout.shiftForRemove(mCurrentItemPosition, positionStart, itemCount),
+                WheelLayout.shiftForRemove(mSelectedItemPosition, positionStart, itemCount),
+                mCurrentItemPosition >= positionEnd ? -itemCount : 0);
+
+        int oldTextMaxWidth = mTextMaxWidth;
+        int oldTextMaxHeight = mTextMaxHeight;
+        if (isWidthIndexed(-itemCount)) {
+            mWidthIndex.remove(positionStart, itemCount);
+            mTextMaxWidth = mWidthIndex.maxWidth();
+        } else {
+            computeTextSize();
+        }
+        onItemsChanged(oldTextMaxWidth, oldTextMaxHeight);
+    }
+
+    /**
+     * 检查数据项范围是否位于数据源内
+     */
+    private static void checkItemRange(int positionStart, int itemCount, int size) {
+        if (positionStart < 0 || itemCount < 0 || positionStart + itemCount > size) {
+            throw new IllegalArgumentException("Item range [" + positionStart + ", " + (positionStart + itemCount)
+                    + ") is out of data bounds [0, " + size + ")");
+        }
+    }
+
+    /**
+     * 判断最大宽度是否可以通过宽度索引增量更新
+     * 只有最大宽度通过遍历测量全部数据得出，并且索引中的数据项数量加上本次的变化量与数据源一致时才可以
+     *
+     * @param delta 本次数据项数量的变化量
+     */
+    private boolean isWidthIndexed(int delta) {
+        return mWidthIndex.isValid() && !mTextWidthMeasurer.isMeasuring()
+                && mWidthIndex.size() + delta == mProvider.getItemCount();
+    }
+
+    /**
+     * 数据项改变后保持当前选中的数据项不变
+     * 滚动过程中只平移滚动的基准位置，使正在进行的滚动不受影响；滚动已经停止或者基准位置不再有效时直接以当前
+     * 数据项作为新的基准位置
+     *
+     * @param currentPosition  当前数据项在新数据中的位置
+     * @param selectedPosition 选中的数据项在新数据中的位置
+     * @param anchorDelta      滚动过程中基准位置的平移量
+     */
+    private void anchorCurrentItem(int currentPosition, int selectedPosition, int anchorDelta) {
+        int lastPosition = mProvider.getItemCount() - 1;
+        int anchor = mAnchorPosition + anchorDelta;
+        if (!mScrollPhysics.isFinished() && anchor >= 0 && anchor <= lastPosition && currentPosition <= lastPosition) {
+            mAnchorPosition = anchor;
+            mCurrentItemPosition = currentPosition;
+        } else {
+            if (!mScrollPhysics.isFinished()) {
+                mScrollPhysics.abortAnimation();
+            }
+            mAnchorPosition = mCurrentItemPosition = Math.min(Math.max(currentPosition, 0), lastPosition);
+            mScrollOffsetY = 0;
+        }
+        mSelectedItemPosition = Math.min(Math.max(selectedPosition, 0), lastPosition);
+        computeFlingLimitY();
+    }
+
+    /**
+     * 数据项改变后清空缓存，文本最大尺寸改变时才重新布局
+     */
+    private void onItemsChanged(int oldTextMaxWidth, int oldTextMaxHeight) {
+        rebuildPrefixIndex();
+        mDataVersion++;
+        mLabelCache.clear();
+        if (mRenderCache != null) {
+            mRenderCache.clear();
+        }
+        if (mTextMaxWidth != oldTextMaxWidth || mTextMaxHeight != oldTextMaxHeight) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    /**
+     * 设置数据源并重置滚轮选择器的各项状态
+     */
+    private void applyDataProvider(WheelDataProvider provider, List data) {
+        clearScrollTarget();
+        if (mProvider instanceof ViewportDataProvider) {
+            ((ViewportDataProvider) mProvider).setDataObserver(null);
+        }
+        if (provider instanceof ViewportDataProvider) {
+            ((ViewportDataProvider) provider).setDataObserver(mViewportDataObserver);
+        }
+        mViewportCount = 0;
+        mProvider = provider;
+        mData = data;
+        mDataVersion++;
+        rebuildPrefixIndex();
+        mLabelChars = provider instanceof NumberRangeProvider ?
+                new char[((NumberRangeProvider) provider).getMaximumLabelLength()] : null;
+        mLabelCache.clear();
+        if (mRenderCache != null) {
+            mRenderCache.clear();
+        }
+
+        // 重置位置
+        if (mSelectedItemPosition > data.size() - 1 || mCurrentItemPosition > data.size() - 1) {
+            mSelectedItemPosition = mCurrentItemPosition = data.size() - 1;
+        } else {
+            mSelectedItemPosition = mCurrentItemPosition;
+        }
+        mAnchorPosition = mSelectedItemPosition;
+        mScrollOffsetY = 0;
         computeTextSize();
+        computeFlingLimitY();
         requestLayout();
         invalidate();
     }
 
+    public void setSameWidth(boolean hasSameWidth) {
+        this.hasSameWidth = hasSameWidth;
+        applyChanges(CHANGE_TEXT_SIZE | CHANGE_LAYOUT | CHANGE_DRAW);
+    }
+
+    @Override
+    public boolean hasSameWidth() {
+        return hasSameWidth;
+    }
+
+
+    @Override
+    public void setOnWheelChangeListener(OnWheelChangeListener listener) {
+        mChangeDispatcher.setListener(listener);
+    }
+
+    @Override
+    public void setScrollCallbackMaxRate(int callbacksPerSecond) {
+        if (callbacksPerSecond < 0) {
+            throw new IllegalArgumentException("Scroll callback rate can not be negative, but current is " + callbacksPerSecond);
+        }
+        mChangeDispatcher.setMaxRate(callbacksPerSecond);
+    }
+
+    @Override
+    public int getScrollCallbackMaxRate() {
+        return mChangeDispatcher.getMaxRate();
+    }
+
+    @Override
+    public void setScrollCallbackPerItem(boolean perItem) {
+        mChangeDispatcher.setPerItem(perItem);
+    }
+
+    @Override
+    public boolean isScrollCallbackPerItem() {
+        return mChangeDispatcher.isPerItem();
+    }
+
+    @Override
+    public String getMaximumWidthText() {
+        return mMaxWidthText;
+    }
+
+    @Override
+    public void setMaximumWidthText(String text) {
+        if (null == text)
+            throw new NullPointerException("Maximum width text can not be null!");
+        mMaxWidthText = text;
+        applyChanges(CHANGE_TEXT_SIZE | CHANGE_LAYOUT | CHANGE_DRAW);
+    }
+
+    @Override
+    public int getMaximumWidthTextPosition() {
+        return mTextMaxWidthPosition;
+    }
+
+    @Override
+    public void setMaximumWidthTextPosition(int position) {
+        if (!isPosInRang(position))
+            throw new ArrayIndexOutOfBoundsException("Maximum width text Position must in [0, " +
+                    mProvider.getItemCount() + "), but current is " + position);
+        mTextMaxWidthPosition = position;
+        applyChanges(CHANGE_TEXT_SIZE | CHANGE_LAYOUT | CHANGE_DRAW);
+    }
+
     @Override
     public int getSelectedItemTextColor() {
         return mSelectedItemTextColor;
@@ -807,8 +1887,7 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     @Override
     public void setSelectedItemTextColor(int color) {
         mSelectedItemTextColor = color;
-        computeCurrentItemRect();
-        invalidate();
+        applyChanges(CHANGE_CURRENT_ITEM_RECT | CHANGE_DRAW);
     }
 
     @Override
@@ -819,7 +1898,7 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     @Override
     public void setItemTextColor(int color) {
         mItemTextColor = color;
-        invalidate();
+        applyChanges(CHANGE_DRAW);
     }
 
     @Override
@@ -831,9 +1910,7 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     public void setItemTextSize(int size) {
         mItemTextSize = size;
         mPaint.setTextSize(mItemTextSize);
-        computeTextSize();
-        requestLayout();
-        invalidate();
+        applyChanges(CHANGE_TEXT_SIZE | CHANGE_LAYOUT | CHANGE_DRAW);
     }
 
     @Override
@@ -844,15 +1921,13 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     @Override
     public void setItemSpace(int space) {
         mItemSpace = space;
-        requestLayout();
-        invalidate();
+        applyChanges(CHANGE_LAYOUT | CHANGE_DRAW);
     }
 
     @Override
     public void setIndicator(boolean hasIndicator) {
         this.hasIndicator = hasIndicator;
-        computeIndicatorRect();
-        invalidate();
+        applyChanges(CHANGE_INDICATOR_RECT | CHANGE_DRAW);
     }
 
     @Override
@@ -868,8 +1943,7 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     @Override
     public void setIndicatorSize(int size) {
         mIndicatorSize = size;
-        computeIndicatorRect();
-        invalidate();
+        applyChanges(CHANGE_INDICATOR_RECT | CHANGE_DRAW);
     }
 
     @Override
@@ -880,14 +1954,13 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     @Override
     public void setIndicatorColor(int color) {
         mIndicatorColor = color;
-        invalidate();
+        applyChanges(CHANGE_DRAW);
     }
 
     @Override
     public void setCurtain(boolean hasCurtain) {
         this.hasCurtain = hasCurtain;
-        computeCurrentItemRect();
-        invalidate();
+        applyChanges(CHANGE_CURRENT_ITEM_RECT | CHANGE_DRAW);
     }
 
     @Override
@@ -903,13 +1976,13 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     @Override
     public void setCurtainColor(int color) {
         mCurtainColor = color;
-        invalidate();
+        applyChanges(CHANGE_DRAW);
     }
 
     @Override
     public void setAtmospheric(boolean hasAtmospheric) {
         this.hasAtmospheric = hasAtmospheric;
-        invalidate();
+        applyChanges(CHANGE_DRAW);
     }
 
     @Override
@@ -917,6 +1990,20 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
         return hasAtmospheric;
     }
 
+    @Override
+    public int getAtmosphericMode() {
+        return mAtmosphericMode;
+    }
+
+    @Override
+    public void setAtmosphericMode(int mode) {
+        if (mode != ATMOSPHERIC_MODE_ITEM_ALPHA && mode != ATMOSPHERIC_MODE_GRADIENT_MASK) {
+            throw new IllegalArgumentException("Unknown atmospheric mode " + mode);
+        }
+        mAtmosphericMode = mode;
+        applyChanges(CHANGE_DRAW);
+    }
+
     @Override
     public boolean isCurved() {
         return isCurved;
@@ -925,8 +2012,7 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     @Override
     public void setCurved(boolean isCurved) {
         this.isCurved = isCurved;
-        requestLayout();
-        invalidate();
+        applyChanges(CHANGE_CURVED_GEOMETRY | CHANGE_LAYOUT | CHANGE_DRAW);
     }
 
     @Override
@@ -938,8 +2024,7 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     public void setItemAlign(int align) {
         mItemAlign = align;
         updateItemTextAlign();
-        computeDrawnCenter();
-        invalidate();
+        applyChanges(CHANGE_DRAWN_CENTER | CHANGE_CURVED_GEOMETRY | CHANGE_DRAW);
     }
 
     @Override
@@ -956,12 +2041,71 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
             mPaint.setTypeface(tf);
         }
 
-        //计算文本大小
-        computeTextSize();
+        //计算文本大小，重新绘制，刷新view
+        applyChanges(CHANGE_TEXT_SIZE | CHANGE_LAYOUT | CHANGE_DRAW);
+    }
 
-        //重新绘制，刷新view
-        requestLayout();
-        invalidate();
+    @Override
+    public void beginEdit() {
+        mEditDepth++;
+    }
+
+    @Override
+    public void commitEdit() {
+        if (mEditDepth == 0) {
+            throw new IllegalStateException("commitEdit() called without a matching beginEdit()");
+        }
+        if (--mEditDepth == 0) {
+            performChanges();
+        }
+    }
+
+    /**
+     * 记录属性修改后需要执行的更新操作，不在批量修改期间时立即执行
+     *
+     * @param changes 更新操作标识值的组合
+     */
+    private void applyChanges(int changes) {
+        mPendingChanges |= changes;
+        if (mEditDepth == 0) {
+            performChanges();
+        }
+    }
+
+    /**
+     * 按依赖顺序执行累积的更新操作，每一项最多执行一次
+     */
+    private void performChanges() {
+        int changes = mPendingChanges;
+        mPendingChanges = 0;
+        if ((changes & CHANGE_TEXT_SIZE) != 0) {
+            computeTextSize();
+        }
+        if ((changes & CHANGE_DRAWN_CENTER) != 0) {
+            computeDrawnCenter();
+        }
+        if ((changes & CHANGE_FLING_LIMIT) != 0) {
+            computeFlingLimitY();
+        }
+        if ((changes & CHANGE_INDICATOR_RECT) != 0) {
+            computeIndicatorRect();
+        }
+        if ((changes & CHANGE_CURRENT_ITEM_RECT) != 0) {
+            computeCurrentItemRect();
+        }
+        if ((changes & CHANGE_CURVED_GEOMETRY) != 0) {
+            computeCurvedGeometry();
+        }
+        if ((changes & CHANGE_STRIP) != 0) {
+            // 数据版本参与条带签名的计算，改变数据版本使条带缓存失效
+            mDataVersion++;
+        }
+        if ((changes & CHANGE_LAYOUT) != 0) {
+            requestLayout();
+        }
+        if ((changes & CHANGE_DRAW) != 0) {
+            invalidate();
+        }
     }
 
     /**
@@ -973,12 +2117,14 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
         //wheelview数据，默认R.array.WheelArrayDefault
         int idData = a.getResourceId(R.styleable.WheelView_wheel_data, 0);
         mData = Arrays.asList(getResources().getStringArray(idData == 0 ? R.array.WheelArrayDefault : idData));
+        mProvider = new ListDataProvider(mData);
         //item文字大小，默认24sp
         mItemTextSize = a.getDimensionPixelSize(R.styleable.WheelView_wheel_item_text_size, getResources().getDimensionPixelSize(R.dimen.WheelItemTextSize));
         //可见item的数量，默认7条
         mVisibleItemCount = a.getInt(R.styleable.WheelView_wheel_visible_item_count, 7);
         //选择item位置，默认Position 0
         mSelectedItemPosition = a.getInt(R.styleable.WheelView_wheel_selected_item_position, 0);
+        mAnchorPosition = mSelectedItemPosition;
         //所有item项的宽度是否都一样,默认false
         hasSameWidth = a.getBoolean(R.styleable.WheelView_wheel_same_width, false);
         //滚轮选择器中最宽或最高的文本在数据源中的位置,默认-1
@@ -1005,6 +2151,8 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
         mCurtainColor = a.getColor(R.styleable.WheelView_wheel_curtain_color, 0x88FFFFFF);
         //是否显示空气感效果,默认false
         hasAtmospheric = a.getBoolean(R.styleable.WheelView_wheel_atmospheric, false);
+        //空气感效果实现方式,默认逐项修改透明度
+        mAtmosphericMode = a.getInt(R.styleable.WheelView_wheel_atmospheric_mode, ATMOSPHERIC_MODE_ITEM_ALPHA);
         //滚轮是否为卷曲效果,默认false
         isCurved = a.getBoolean(R.styleable.WheelView_wheel_curved, false);
         //数据项对齐方式,默认居中显示
@@ -1032,9 +2180,6 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
         // 计算文本尺寸
         computeTextSize();
 
-        //初始化 Scroller，Scroller是一个专门用于处理滚动效果的工具类
-        mScroller = new Scroller(getContext());
-
         //如果当前sdk版本大于等于1.6，就获取view的相关阈值
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.DONUT) {
             ViewConfiguration conf = ViewConfiguration.get(getContext());
@@ -1051,10 +2196,9 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
         mRectIndicatorFoot = new Rect();
         mRectCurrentItem = new Rect();
 
-        mCamera = new Camera();
-
         mMatrixRotate = new Matrix();
-        mMatrixDepth = new Matrix();
+
+        mCurvedGeometry = new CurvedGeometry();
 
     }
 
@@ -1084,18 +2228,35 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
         //初始化文本最大宽、高
         mTextMaxWidth = mTextMaxHeight = 0;
 
+        //取消之前尚未完成的异步测量，避免旧的结果覆盖本次测量
+        mTextWidthMeasurer.cancel();
+        isMeasureInterrupted = false;
+        mWidthIndex.invalidate();
+
         if (hasSameWidth) { //如果全部 item 的宽度都一样，则测量第一个item就可以了
-            mTextMaxWidth = (int) mPaint.measureText(String.valueOf(mData.get(0)));
+            mTextMaxWidth = mProvider.getItemCount() > 0 ? measureLabel(0) : 0;
         } else if (isPosInRang(mTextMaxWidthPosition)) {//如果最宽的文本的位置索引没有越界，那么就测量这个item
-            mTextMaxWidth = (int) mPaint.measureText(String.valueOf(mData.get(mTextMaxWidthPosition)));
+            mTextMaxWidth = measureLabel(mTextMaxWidthPosition);
         } else if (!TextUtils.isEmpty(mMaxWidthText)) {//如果给出的最宽文本不为空，就测量它
             mTextMaxWidth = (int) mPaint.measureText(mMaxWidthText);
-        } else {//条件都不满足的情况下，我们就自己找出最大最宽的那一条，并且测量
+        } else if ((mTextMaxWidth = mProvider.getMaximumWidth(mPaint)) >= 0) {//数据提供者直接给出了最大宽度
+            if (isDebug) {
+                Log.d(TAG, "Wheel's text max width is provided: " + mTextMaxWidth);
+            }
+        } else if (!(mProvider instanceof ListDataProvider)) {
+            //数据提供者的数据可能非常多，不能遍历，只测量当前可见的数据项
+            mTextMaxWidth = measureVisibleTextWidth();
+        } else if (isAsyncMeasure && mData.size() >= TextWidthMeasurer.MIN_ASYNC_SIZE) {
+            //数据量较大时先以当前可见数据项的最大宽度临时布局，在后台线程完成全部测量后再更新
+            mTextMaxWidth = measureVisibleTextWidth();
+            mTextWidthMeasurer.measure(mData, mPaint, mMeasureCallback);
+        } else {//条件都不满足的情况下，我们就自己找出最大最宽的那一条，并且测量，同时建立宽度索引
+            mWidthIndex.reset();
             for (Object obj : mData) {
                 String text = String.valueOf(obj);
-                int width = (int) mPaint.measureText(text);
-                mTextMaxWidth = Math.max(mTextMaxWidth, width);
+                mWidthIndex.add((int) mPaint.measureText(text));
             }
+            mTextMaxWidth = mWidthIndex.maxWidth();
         }
 
         //根据 mPaint.getFontMetrics() 得到的结果，算出文本最大高度
@@ -1103,11 +2264,33 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
         mTextMaxHeight = (int) (metrics.bottom - metrics.top);
     }
 
+    /**
+     * 测量当前选中数据项附近将会被绘制的数据项文本的最大宽度
+     */
+    private int measureVisibleTextWidth() {
+        int maxWidth = 0;
+        int size = mProvider.getItemCount();
+        int start = Math.max(0, mAnchorPosition - mHalfDrawnItemCount);
+        int end = Math.min(size, mAnchorPosition + mHalfDrawnItemCount + 1);
+        for (int i = start; i < end; i++) {
+            maxWidth = Math.max(maxWidth, measureLabel(i));
+        }
+        return maxWidth;
+    }
+
+    /**
+     * 测量指定位置数据项文本的宽度
+     */
+    private int measureLabel(int position) {
+        CharSequence label = mProvider.getLabel(position);
+        return (int) mPaint.measureText(label, 0, label.length());
+    }
+
     /**
      * 检查 position 是否越界
      */
     private boolean isPosInRang(int position) {
-        return position >= 0 && position < mData.size();
+        return position >= 0 && position < mProvider.getItemCount();
     }
 
     /**
@@ -1164,9 +2347,8 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
      * 初始化滑动最大坐标
      */
     private void computeFlingLimitY() {
-        int currentItemOffset = mSelectedItemPosition * mItemHeight;
-        mMinFlingY = isCyclic ? Integer.MIN_VALUE : -mItemHeight * (mData.size() - 1) + currentItemOffset;
-        mMaxFlingY = isCyclic ? Integer.MAX_VALUE : currentItemOffset;
+        mMinFlingY = WheelLayout.computeMinFlingY(mItemHeight, mProvider.getItemCount(), mAnchorPosition, isCyclic);
+        mMaxFlingY = WheelLayout.computeMaxFlingY(mItemHeight, mAnchorPosition, isCyclic);
     }
 
     /**
@@ -1199,57 +2381,58 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
     }
 
     /**
-     * 计算间隔
+     * 计算卷曲效果下数据项几何参数表，参数表所依赖的尺寸没有改变时不会重复计算
      */
-    private int computeSpace(int degree) {
-        return (int) (Math.sin(Math.toRadians(degree)) * mHalfWheelHeight);
-    }
-
-    /**
-     * 计算纵深
-     */
-    private int computeDepth(int degree) {
-        return (int) (mHalfWheelHeight - Math.cos(Math.toRadians(degree)) * mHalfWheelHeight);
-    }
-
-    /**
-     * 计算距离到结束点
-     */
-    private int computeDistanceToEndPoint(int remainder) {
-        if (Math.abs(remainder) > mHalfItemHeight) {
-            if (mScrollOffsetY < 0) {
-                return -mItemHeight - remainder;
-            } else {
-                return mItemHeight - remainder;
-            }
-        } else {
-            return -remainder;
+    private void computeCurvedGeometry() {
+        if (!isCurved || mItemHeight == 0) {
+            return;
+        }
+        int transX = mWheelCenterX;
+        switch (mItemAlign) {
+            case ALIGN_LEFT:
+                transX = mRectDrawn.left;
+                break;
+            case ALIGN_RIGHT:
+                transX = mRectDrawn.right;
+                break;
         }
+        mCurvedGeometry.ensure(mDrawnCenterY, mRectDrawn.top, mHalfWheelHeight, mWheelCenterY, transX,
+                mItemHeight, mHalfDrawnItemCount);
     }
 
     public void setSelectedItemPosition(int position, final boolean animated) {
         isTouchTriggered = false;
+        //没有数据项时没有可以选中的位置，当前位置保持为-1
+        if (mProvider.getItemCount() == 0) {
+            return;
+        }
         //如果滚动条处于运动状态，无论“动画”参数如何，我们都会进行非动画处理
-        if (animated && mScroller.isFinished()) {
-            int length = getData().size();
-            int itemDifference = position - mCurrentItemPosition;
+        if (animated && mScrollPhysics.isFinished()) {
+            //找到最短的路径，如果它是循环的
+            int itemDifference = WheelLayout.computeItemDifference(mCurrentItemPosition, position, mProvider.getItemCount(), isCyclic);
             if (itemDifference == 0) {
                 return;
             }
 
-            //找到最短的路径，如果它是循环的
-            if (isCyclic && Math.abs(itemDifference) > (length / 2)) {
-                itemDifference += (itemDifference > 0) ? -length : length;
+            // 跳转距离较远时直接跳到目标附近，只以动画滚动最后几个数据项
+            int seekJump = WheelLayout.computeSeekJump(itemDifference, mSeekItemCount);
+            if (seekJump != 0) {
+                int anchor = mAnchorPosition + seekJump;
+                mAnchorPosition = isCyclic ? WheelLayout.toDataPosition(anchor, mProvider.getItemCount(), true) : anchor;
+                computeFlingLimitY();
+                itemDifference -= seekJump;
             }
-            mScroller.startScroll(0, mScroller.getCurrY(), 0, (-itemDifference) * mItemHeight);
-            mHandler.post(this);
+            mScrollPhysics.scrollTo(mScrollOffsetY, mScrollOffsetY - itemDifference * mItemHeight, System.nanoTime());
+            startScrollTarget();
+            postFrame();
         } else {
-            if (!mScroller.isFinished()) {
-                mScroller.abortAnimation();
+            if (!mScrollPhysics.isFinished()) {
+                mScrollPhysics.abortAnimation();
             }
-            position = Math.min(position, mData.size() - 1);
+            position = Math.min(position, mProvider.getItemCount() - 1);
             position = Math.max(position, 0);
             mSelectedItemPosition = position;
+            mAnchorPosition = position;
             mCurrentItemPosition = position;
             mScrollOffsetY = 0;
             computeFlingLimitY();
@@ -1257,4 +2440,515 @@ public class WheelView extends View implements IDebug, IWheelView, Runnable {
             invalidate();
         }
     }
+
+    /**
+     * 设置跳转时以动画滚动的最大数据项数量
+     * 通过{@link #setSelectedItemPosition(int, boolean)}以动画方式跳转时，如果需要经过的数据项数量超过该值，滚
+     * 轮选择器会先直接跳到距目标该数量个数据项的位置，再以动画滚动最后这些数据项，使跳转动画的时长不会随跳转
+     * 距离增长，例如在数百万条数据中跳转时不会产生一段极长的滚动动画
+     * 默认数量为10
+     *
+     * @param count 以动画滚动的最大数据项数量，不能小于0，为0时直接跳到目标位置
+     */
+    public void setSeekItemCount(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Seek item count can not be negative, but current is " + count);
+        }
+        mSeekItemCount = count;
+    }
+
+    /**
+     * 获取跳转时以动画滚动的最大数据项数量
+     *
+     * @return 以动画滚动的最大数据项数量
+     */
+    public int getSeekItemCount() {
+        return mSeekItemCount;
+    }
+
+    /**
+     * 设置滚动模型
+     * 滚动模型在惯性滑动开始时即确定对齐后的停止位置以及恰好在该位置结束的运动曲线，每一帧按帧时间直接求出
+     * 滚动位置。可选的模型有指数衰减{@link DecayScrollPhysics}、弹簧{@link com.lishuanglong.core.SpringScrollPhysics}
+     * 以及固定时长{@link com.lishuanglong.core.FixedDurationScrollPhysics}，正在滚动时更换模型会以新模型继续滚动
+     * 到原来的停止位置
+     * 默认使用指数衰减模型
+     *
+     * @param physics 滚动模型，不能与其他滚轮选择器共用，需要为每一个滚轮选择器创建各自的实例
+     * @throws IllegalStateException 滚动模型正在被其他滚轮选择器使用
+     */
+    public void setScrollPhysics(ScrollPhysics physics) {
+        if (physics == null) {
+            throw new NullPointerException("Scroll physics can not be null!");
+        }
+        if (physics == mScrollPhysics) {
+            return;
+        }
+        physics.bind(this);
+        ScrollPhysics oldPhysics = mScrollPhysics;
+        oldPhysics.unbind(this);
+        mScrollPhysics = physics;
+        if (!oldPhysics.isFinished()) {
+            oldPhysics.abortAnimation();
+            physics.scrollTo(mScrollOffsetY, oldPhysics.getFinalY(), System.nanoTime());
+        }
+    }
+
+    /**
+     * 获取滚动模型
+     *
+     * @return 滚动模型
+     */
+    public ScrollPhysics getScrollPhysics() {
+        return mScrollPhysics;
+    }
+
+    /**
+     * 将滚动偏移中完整的数据项移入基准位置，只保留不足一个数据项的偏移
+     */
+    private void rebaseScrollOffset() {
+        int itemCount = mProvider.getItemCount();
+        if (mItemHeight == 0 || itemCount == 0) {
+            return;
+        }
+        mAnchorPosition = WheelLayout.computeRebasedAnchor(mScrollOffsetY, mItemHeight, mAnchorPosition, itemCount, isCyclic);
+        mScrollOffsetY %= mItemHeight;
+        computeFlingLimitY();
+    }
+
+    /**
+     * 设置数据项文本缓存的容量
+     * 滚轮选择器在绘制时会缓存数据项转换后的文本，避免滚动过程中每一帧都调用数据的toString方法，容量不应
+     * 小于滚轮选择器绘制的数据项数量，即可见数据项数量+2，否则缓存将频繁失效
+     * 默认容量为64
+     *
+     * @param size 缓存容量，必须大于0
+     */
+    public void setLabelCacheSize(int size) {
+        mLabelCache.resize(size);
+        invalidate();
+    }
+
+    /**
+     * 获取数据项文本缓存的容量
+     *
+     * @return 缓存容量
+     */
+    public int getLabelCacheSize() {
+        return mLabelCache.capacity();
+    }
+
+    /**
+     * 获取数据项文本缓存的命中次数
+     *
+     * @return 命中次数
+     */
+    public long getLabelCacheHitCount() {
+        return mLabelCache.hitCount();
+    }
+
+    /**
+     * 获取数据项文本缓存的未命中次数
+     *
+     * @return 未命中次数
+     */
+    public long getLabelCacheMissCount() {
+        return mLabelCache.missCount();
+    }
+
+    /**
+     * 清零数据项文本缓存的命中统计
+     */
+    public void resetLabelCacheStats() {
+        mLabelCache.resetStats();
+    }
+
+    /**
+     * 设置滚动时预取的最大数据项数量
+     * 快速滑动时，数据项第一次滚入视野的那一帧需要获取文本并完成排版甚至光栅化，往往是最慢的一帧。开启预取后，
+     * 滚轮选择器会在滚动动画的每一帧根据滚动方向和速度确定即将滚入的数据项，并在主线程两帧之间的空闲时间里预
+     * 先获取它们的文本并完成排版，开启渲染缓存时还会预先光栅化到渲染缓存中
+     * 预取的文本同样保存在数据项文本缓存中，实际预取的数量不会超过文本缓存容量减去绘制的数据项数量
+     * 默认为0，即不预取
+     *
+     * @param depth 预取的最大数据项数量，不能小于0
+     * @see #getPrefetchHitCount()
+     */
+    public void setPrefetchDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Prefetch depth can not be negative, but current is " + depth);
+        }
+        mPrefetchDepth = depth;
+    }
+
+    /**
+     * 获取滚动时预取的最大数据项数量
+     *
+     * @return 预取的最大数据项数量
+     */
+    public int getPrefetchDepth() {
+        return mPrefetchDepth;
+    }
+
+    /**
+     * 获取预取的数据项数量，已经缓存的数据项不会被重复预取
+     *
+     * @return 预取的数据项数量
+     */
+    public long getPrefetchCount() {
+        return mLabelCache.prefetchCount() + (mRenderCache != null ? mRenderCache.prefetchCount() : 0);
+    }
+
+    /**
+     * 获取预取的数据项中在被挤出缓存之前被绘制使用的数量，与{@link #getPrefetchCount()}之比即为预取命中率
+     *
+     * @return 被绘制使用的预取数据项数量
+     */
+    public long getPrefetchHitCount() {
+        return mLabelCache.prefetchHitCount() + (mRenderCache != null ? mRenderCache.prefetchHitCount() : 0);
+    }
+
+    /**
+     * 清零预取统计
+     */
+    public void resetPrefetchStats() {
+        mLabelCache.resetPrefetchStats();
+        if (mRenderCache != null) {
+            mRenderCache.resetPrefetchStats();
+        }
+    }
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        if (enabled == (mMetrics != null)) {
+            return;
+        }
+        mMetrics = enabled ? new FrameMetricsRecorder() : null;
+        updateMetricsRefreshRate();
+    }
+
+    @Override
+    public boolean isMetricsEnabled() {
+        return mMetrics != null;
+    }
+
+    @Override
+    public WheelMetrics getMetrics(WheelMetrics out) {
+        if (out == null) {
+            out = new WheelMetrics();
+        }
+        if (mMetrics != null) {
+            mMetrics.copyTo(out);
+        }
+        return out;
+    }
+
+    /**
+     * 清零已记录的性能指标
+     */
+    public void resetMetrics() {
+        if (mMetrics != null) {
+            mMetrics = new FrameMetricsRecorder();
+            updateMetricsRefreshRate();
+        }
+    }
+
+    /**
+     * 根据当前屏幕的刷新率更新迟到帧的判定间隔
+     */
+    private void updateMetricsRefreshRate() {
+        if (mMetrics != null && getDisplay() != null) {
+            mMetrics.setRefreshRate(getDisplay().getRefreshRate());
+        }
+    }
+
+    /**
+     * 设置是否异步测量数据项文本宽度
+     * 在没有设置数据项宽度相同、最宽文本或最宽文本位置的情况下，滚轮选择器需要测量每一条数据项文本来确定自
+     * 身宽度，数据量很大时这个过程会长时间阻塞主线程。开启异步测量后，数据量达到一定规模时滚轮选择器会先以
+     * 当前可见数据项的最大宽度进行布局，同时在后台线程中并行测量全部数据项，测量完成后再以最终宽度重新布局
+     * 后台线程测量的是发起测量时数据源的快照，测量期间修改数据源并通知滚轮选择器会重新发起测量
+     * 默认情况下异步测量处于关闭状态
+     *
+     * @param enabled 是否异步测量
+     */
+    public void setAsyncMeasureEnabled(boolean enabled) {
+        if (isAsyncMeasure == enabled) {
+            return;
+        }
+        isAsyncMeasure = enabled;
+        applyChanges(CHANGE_TEXT_SIZE | CHANGE_LAYOUT | CHANGE_DRAW);
+    }
+
+    /**
+     * 是否异步测量数据项文本宽度
+     *
+     * @return 是否异步测量
+     */
+    public boolean isAsyncMeasureEnabled() {
+        return isAsyncMeasure;
+    }
+
+    /**
+     * 设置是否开启数据项文本前缀索引
+     * 开启后滚轮选择器会在设置数据源或者数据改变时，在后台线程中按语言环境的排序规则为全部数据项文本建立索引，
+     * 之后可以通过{@link #jumpToPrefix(CharSequence, boolean)}在O(log n)时间内跳转到以指定前缀开头的数据项，
+     * 适合国家、城市或商品这类数以万计的文本列表中的输入即跳转
+     * 前缀索引只支持通过{@link #setData(List)}设置的数据列表，后台线程读取的是构建开始时数据列表的快照；其他
+     * 数据提供者的文本可能是异步加载的，不会被索引，跳转总是失败。{@link NumberRangeProvider}的数据项数量可能
+     * 非常大，同样不会被索引，请通过{@link NumberRangeProvider#getPosition(long)}换算位置后直接设置选中位置
+     * 默认情况下前缀索引处于关闭状态
+     *
+     * @param enabled 是否开启前缀索引
+     */
+    public void setPrefixIndexEnabled(boolean enabled) {
+        if (enabled == (mPrefixIndex != null)) {
+            return;
+        }
+        if (enabled) {
+            mPrefixIndex = new PrefixIndex();
+            rebuildPrefixIndex();
+        } else {
+            mPrefixIndex.cancel();
+            mPrefixIndex = null;
+            mPendingPrefix = null;
+        }
+    }
+
+    /**
+     * 是否开启数据项文本前缀索引
+     *
+     * @return 是否开启前缀索引
+     */
+    public boolean isPrefixIndexEnabled() {
+        return mPrefixIndex != null;
+    }
+
+    /**
+     * 设置前缀索引排序规则所用的语言环境，默认为{@link Locale#getDefault()}
+     * 排序规则只比较基本字符，忽略大小写和重音符号的差异
+     *
+     * @param locale 语言环境
+     */
+    public void setPrefixIndexLocale(Locale locale) {
+        if (locale == null) {
+            throw new NullPointerException("Prefix index locale can not be null!");
+        }
+        mPrefixIndexLocale = locale;
+        rebuildPrefixIndex();
+    }
+
+    /**
+     * 获取前缀索引排序规则所用的语言环境
+     *
+     * @return 语言环境
+     */
+    public Locale getPrefixIndexLocale() {
+        return mPrefixIndexLocale;
+    }
+
+    /**
+     * 以动画方式跳转到以指定前缀开头的数据项
+     *
+     * @param prefix 前缀
+     * @return 是否找到匹配的数据项
+     * @see #jumpToPrefix(CharSequence, boolean)
+     */
+    public boolean jumpToPrefix(CharSequence prefix) {
+        return jumpToPrefix(prefix, true);
+    }
+
+    /**
+     * 跳转到以指定前缀开头的数据项
+     * 以指定前缀开头的数据项有多个时跳转到按排序规则排在最前面的一个，跳转的行为与
+     * {@link #setSelectedItemPosition(int, boolean)}相同
+     * 前缀索引尚未构建完成时本次跳转会被记录下来并返回false，索引构建完成后再执行最近一次记录的跳转
+     *
+     * @param prefix   前缀
+     * @param animated 是否以动画方式跳转
+     * @return 是否找到匹配的数据项并完成跳转
+     * @throws IllegalStateException 没有开启前缀索引
+     * @see #setPrefixIndexEnabled(boolean)
+     */
+    public boolean jumpToPrefix(CharSequence prefix, boolean animated) {
+        if (mPrefixIndex == null) {
+            throw new IllegalStateException("Prefix index is not enabled, call setPrefixIndexEnabled(true) first");
+        }
+        if (!mPrefixIndex.isReady()) {
+            mPendingPrefix = prefix.toString();
+            isPendingPrefixAnimated = animated;
+            return false;
+        }
+        mPendingPrefix = null;
+        int position = mPrefixIndex.find(prefix);
+        if (position < 0) {
+            return false;
+        }
+        setSelectedItemPosition(position, animated);
+        return true;
+    }
+
+    /**
+     * 数据源或排序规则改变后重新构建前缀索引
+     */
+    private void rebuildPrefixIndex() {
+        if (mPrefixIndex != null) {
+            mPrefixIndex.build(mProvider, mPrefixIndexLocale, mPrefixIndexCallback);
+            // 不支持索引的数据提供者立即得到空的索引，等待中的跳转不会再有结果
+            if (mPrefixIndex.isReady()) {
+                mPendingPrefix = null;
+            }
+        }
+    }
+
+    /**
+     * 设置是否开启平面滚轮条带缓存
+     * 在没有开启卷曲效果、空气感效果且没有设置选中数据项文本颜色的情况下，滚轮每一帧绘制的都是同一段数据项在
+     * Y方向上的平移。开启条带缓存后滚轮选择器会将绘制范围内的数据项连同上下若干额外的数据项一次性绘制到一张离屏
+     * 位图中，滚动时每一帧只需绘制一次这张位图，只有当绘制范围越过条带边界时才重新绘制条带
+     * 条带缓存会额外占用一张与滚轮宽度相同、高度约为绘制数据项数量加6个数据项高度的位图，不满足上述条件时条带缓
+     * 存不会生效。以{@link #ATMOSPHERIC_MODE_GRADIENT_MASK}方式实现的空气感效果不影响条带内容，可以与条带缓存同时生效
+     * 默认情况下条带缓存处于关闭状态
+     *
+     * @param enabled 是否开启条带缓存
+     */
+    public void setStripCacheEnabled(boolean enabled) {
+        if (enabled == (mStripRenderer != null)) {
+            return;
+        }
+        if (enabled) {
+            mStripRenderer = new FlatStripRenderer();
+        } else {
+            mStripRenderer.release();
+            mStripRenderer = null;
+        }
+        invalidate();
+    }
+
+    /**
+     * 是否开启了平面滚轮条带缓存
+     *
+     * @return 是否开启条带缓存
+     */
+    public boolean isStripCacheEnabled() {
+        return mStripRenderer != null;
+    }
+
+    /**
+     * 设置是否以圆柱网格绘制卷曲滚轮
+     * 默认情况下卷曲效果会为每一条数据项进行一次Camera旋转变换后绘制。开启圆柱网格后滚轮选择器会将数据项按弧长
+     * 平铺绘制到一张离屏条带中，再将条带作为网格贴到圆柱表面，整个滚轮每一帧只需一次网格绘制，条带只有在绘制
+     * 范围越过条带边界时才重新绘制。空气感效果通过网格顶点颜色实现，设置了选中数据项文本颜色时会额外占用一张条带
+     * 与逐项旋转相比，圆柱网格的透视只作用于X方向，数据项在Y方向上的位置与压缩比例保持一致
+     * 只在开启卷曲效果时生效，默认情况下处于关闭状态
+     *
+     * @param enabled 是否开启圆柱网格
+     */
+    public void setCurvedMeshEnabled(boolean enabled) {
+        if (enabled == (mCylinderMesh != null)) {
+            return;
+        }
+        if (enabled) {
+            mCylinderMesh = new CylinderMesh();
+        } else {
+            mCylinderMesh.release();
+            mCylinderMesh = null;
+        }
+        invalidate();
+    }
+
+    /**
+     * 是否以圆柱网格绘制卷曲滚轮
+     *
+     * @return 是否开启圆柱网格
+     */
+    public boolean isCurvedMeshEnabled() {
+        return mCylinderMesh != null;
+    }
+
+    /**
+     * 设置是否开启数据项渲染缓存
+     * 开启后滚轮选择器会将每一条数据项文本按（位置，颜色，文本尺寸，字体）光栅化为位图并缓存，滚动时直接
+     * 绘制位图而不再重复排版和光栅化文本，对于排版代价较高的文字效果尤为明显
+     * 渲染缓存会额外占用内存，其大小受{@link #setRenderCacheSize(int)}限制，关闭后缓存的位图交由垃圾回收器回收
+     * 默认情况下渲染缓存处于关闭状态
+     *
+     * @param enabled 是否开启渲染缓存
+     */
+    public void setRenderCacheEnabled(boolean enabled) {
+        if (enabled == (mRenderCache != null)) {
+            return;
+        }
+        if (enabled) {
+            mRenderCache = new ItemRenderCache(mRenderCacheMaxBytes);
+        } else {
+            mRenderCache.clear();
+            mRenderCache = null;
+        }
+        invalidate();
+    }
+
+    /**
+     * 是否开启了数据项渲染缓存
+     *
+     * @return 是否开启渲染缓存
+     */
+    public boolean isRenderCacheEnabled() {
+        return mRenderCache != null;
+    }
+
+    /**
+     * 设置数据项渲染缓存的内存预算，超出预算后按最近最少使用的顺序淘汰缓存的位图
+     * 单条渲染结果超出预算的数据项不会被缓存，而是每一帧直接绘制文本
+     * 默认内存预算为4MB
+     *
+     * @param maxBytes 内存预算，单位：byte
+     */
+    public void setRenderCacheSize(int maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Render cache size must be greater than 0, but current is " + maxBytes);
+        }
+        mRenderCacheMaxBytes = maxBytes;
+        if (mRenderCache != null) {
+            mRenderCache.resize(maxBytes);
+        }
+    }
+
+    /**
+     * 获取数据项渲染缓存的内存预算
+     *
+     * @return 内存预算，单位：byte
+     */
+    public int getRenderCacheSize() {
+        return mRenderCacheMaxBytes;
+    }
+
+    /**
+     * 设置数据项渲染器，用于在数据项文本之外绘制图标、副标题等内容
+     * 滚轮选择器只会创建与绘制数据项数量相同的数据项容器，数据项滚入滚出时复用这些容器，数据改变后容器会被重新
+     * 绑定。设置渲染器后数据项渲染缓存不再生效，条带缓存则仍然可用
+     * 默认情况下没有设置渲染器，只绘制数据项文本
+     *
+     * @param renderer 数据项渲染器，为null时恢复只绘制数据项文本
+     */
+    public void setItemRenderer(WheelItemRenderer<?> renderer) {
+        if (renderer == mItemRenderer) {
+            return;
+        }
+        if (mItemRenderer != null) {
+            mHolderCache.recycleAll(mItemRenderer);
+            mHolderCache.clear();
+        }
+        mItemRenderer = renderer;
+        applyChanges(CHANGE_STRIP | CHANGE_LAYOUT | CHANGE_DRAW);
+    }
+
+    /**
+     * 获取数据项渲染器
+     *
+     * @return 数据项渲染器，没有设置时返回null
+     */
+    public WheelItemRenderer<?> getItemRenderer() {
+        return mItemRenderer;
+    }
 }
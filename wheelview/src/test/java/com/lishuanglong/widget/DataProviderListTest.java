@@ -0,0 +1,61 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Paint;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link DataProviderList}与{@link ListDataProvider}单元测试
+ */
+public class DataProviderListTest {
+
+    private static WheelDataProvider squares(final int itemCount) {
+        return new WheelDataProvider() {
+            @Override
+            public int getItemCount() {
+                return itemCount;
+            }
+
+            @Override
+            public Object getItem(int position) {
+                return position * position;
+            }
+
+            @Override
+            public CharSequence getLabel(int position) {
+                return String.valueOf(position * position);
+            }
+
+            @Override
+            public int getMaximumWidth(Paint paint) {
+                return -1;
+            }
+        };
+    }
+
+    @Test
+    public void list_readsItemsFromProvider() {
+        DataProviderList list = new DataProviderList(squares(5));
+        assertEquals(5, list.size());
+        assertEquals(16, list.get(4));
+        assertEquals(Arrays.asList(0, 1, 4, 9, 16), list);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void list_rejectsPositionOutOfProvider() {
+        new DataProviderList(squares(5)).get(5);
+    }
+
+    @Test
+    public void listProvider_labelsAreStringForms() {
+        ListDataProvider provider = new ListDataProvider(Arrays.asList(1, null, "a"));
+        assertEquals(3, provider.getItemCount());
+        assertEquals("1", provider.getLabel(0).toString());
+        assertEquals("null", provider.getLabel(1).toString());
+        assertEquals("a", provider.getItem(2));
+    }
+}
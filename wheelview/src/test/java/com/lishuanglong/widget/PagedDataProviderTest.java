@@ -0,0 +1,181 @@
+package com.lishuanglong.widget;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link PagedDataProvider}单元测试
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 27)
+public class PagedDataProviderTest {
+
+    private static final int ITEM_COUNT = 100;
+    private static final int PAGE_SIZE = 10;
+
+    /**
+     * 只记录加载请求的数据提供者，由测试决定何时交付结果
+     */
+    private static final class RecordingProvider extends PagedDataProvider {
+        final List<PageLoad> loads = new ArrayList<>();
+        final List<Integer> cancelledPages = new ArrayList<>();
+
+        RecordingProvider(int maxPages) {
+            super(ITEM_COUNT, PAGE_SIZE, maxPages);
+        }
+
+        @Override
+        protected void onLoadPage(PageLoad load) {
+            loads.add(load);
+        }
+
+        @Override
+        protected void onCancelPage(PageLoad load) {
+            cancelledPages.add(load.getPage());
+        }
+
+        PageLoad load(int page) {
+            for (int i = loads.size() - 1; i >= 0; i--) {
+                if (loads.get(i).getPage() == page) {
+                    return loads.get(i);
+                }
+            }
+            throw new AssertionError("Page " + page + " was never requested");
+        }
+
+        void complete(int page) {
+            PageLoad load = load(page);
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < load.getCount(); i++) {
+                items.add("item " + (load.getStart() + i));
+            }
+            load.complete(items);
+            Robolectric.flushForegroundThreadScheduler();
+        }
+    }
+
+    private final List<int[]> mChangedRanges = new ArrayList<>();
+
+    private RecordingProvider newProvider(int maxPages) {
+        RecordingProvider provider = new RecordingProvider(maxPages);
+        provider.setDataObserver(new ViewportDataProvider.DataObserver() {
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                mChangedRanges.add(new int[]{positionStart, itemCount});
+            }
+        });
+        return provider;
+    }
+
+    @Before
+    public void setUp() {
+        mChangedRanges.clear();
+    }
+
+    @Test
+    public void viewport_loadsPagesWithHalfPageMargin() {
+        RecordingProvider provider = newProvider(PagedDataProvider.DEFAULT_MAX_PAGES);
+        provider.onViewportChanged(8, 5);
+        assertEquals(2, provider.loads.size());
+        assertEquals(0, provider.loads.get(0).getPage());
+        assertEquals(1, provider.loads.get(1).getPage());
+
+        // 已经在加载的页面不会重复请求
+        provider.onViewportChanged(9, 5);
+        assertEquals(2, provider.loads.size());
+    }
+
+    @Test
+    public void completedPage_replacesPlaceholderAndNotifies() {
+        RecordingProvider provider = newProvider(PagedDataProvider.DEFAULT_MAX_PAGES);
+        provider.onViewportChanged(0, 5);
+        assertEquals(provider.getPlaceholder(), provider.getLabel(3));
+        assertFalse(provider.isLoaded(3));
+
+        provider.complete(0);
+        assertTrue(provider.isLoaded(3));
+        assertEquals("item 3", provider.getLabel(3).toString());
+        assertEquals(1, mChangedRanges.size());
+        assertEquals(0, mChangedRanges.get(0)[0]);
+        assertEquals(PAGE_SIZE, mChangedRanges.get(0)[1]);
+    }
+
+    @Test
+    public void leavingViewport_cancelsPendingLoad() {
+        RecordingProvider provider = newProvider(PagedDataProvider.DEFAULT_MAX_PAGES);
+        provider.onViewportChanged(0, 5);
+        PagedDataProvider.PageLoad first = provider.load(0);
+        provider.onViewportChanged(60, 5);
+        assertTrue(first.isCancelled());
+        assertTrue(provider.cancelledPages.contains(0));
+
+        // 被取消的加载交付的结果会被丢弃
+        provider.complete(0);
+        assertFalse(provider.isLoaded(0));
+        assertTrue(mChangedRanges.isEmpty());
+    }
+
+    @Test
+    public void scrollTarget_keepsItsPageLoading() {
+        RecordingProvider provider = newProvider(PagedDataProvider.DEFAULT_MAX_PAGES);
+        provider.onScrollTargetChanged(70, 5);
+        PagedDataProvider.PageLoad target = provider.load(7);
+        provider.onViewportChanged(0, 5);
+        assertFalse(target.isCancelled());
+
+        provider.onScrollTargetChanged(0, 0);
+        assertTrue(target.isCancelled());
+    }
+
+    @Test
+    public void pageCache_evictsLeastRecentlyUsedPage() {
+        RecordingProvider provider = newProvider(4);
+        provider.onViewportChanged(0, 5);
+        provider.complete(0);
+        provider.onViewportChanged(20, 5);
+        provider.complete(1);
+        provider.complete(2);
+        provider.onViewportChanged(40, 5);
+        provider.complete(3);
+        provider.complete(4);
+        assertFalse(provider.isLoaded(0));
+        assertTrue(provider.isLoaded(PAGE_SIZE));
+        assertTrue(provider.isLoaded(4 * PAGE_SIZE));
+    }
+
+    @Test
+    public void smallPageCache_stillHoldsVisiblePages() {
+        RecordingProvider provider = newProvider(1);
+        provider.onViewportChanged(8, 5);
+        provider.complete(0);
+        provider.complete(1);
+        assertTrue(provider.isLoaded(8));
+        assertTrue(provider.isLoaded(12));
+        assertEquals(1, provider.getMaxPages());
+    }
+
+    @Test
+    public void invalidate_reloadsVisiblePages() {
+        RecordingProvider provider = newProvider(PagedDataProvider.DEFAULT_MAX_PAGES);
+        provider.onViewportChanged(0, 5);
+        provider.complete(0);
+        mChangedRanges.clear();
+
+        provider.invalidate();
+        assertFalse(provider.isLoaded(0));
+        assertEquals(1, mChangedRanges.size());
+        assertEquals(ITEM_COUNT, mChangedRanges.get(0)[1]);
+        assertEquals(2, provider.loads.size());
+    }
+}
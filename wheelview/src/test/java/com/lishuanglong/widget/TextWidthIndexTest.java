@@ -0,0 +1,70 @@
+package com.lishuanglong.widget;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link TextWidthIndex}单元测试
+ */
+public class TextWidthIndexTest {
+
+    private static TextWidthIndex indexOf(int... widths) {
+        TextWidthIndex index = new TextWidthIndex();
+        index.reset();
+        for (int width : widths) {
+            index.add(width);
+        }
+        return index;
+    }
+
+    @Test
+    public void reset_tracksMaxWidth() {
+        TextWidthIndex index = indexOf(10, 30, 20);
+        assertTrue(index.isValid());
+        assertEquals(3, index.size());
+        assertEquals(30, index.maxWidth());
+    }
+
+    @Test
+    public void insert_measuresOnlyNewItems() {
+        TextWidthIndex index = indexOf(10, 30, 20);
+        index.insert(1, 2);
+        index.set(1, 40);
+        index.set(2, 15);
+        assertEquals(5, index.size());
+        assertEquals(40, index.maxWidth());
+    }
+
+    @Test
+    public void remove_fallsBackToNextWidestItem() {
+        TextWidthIndex index = indexOf(10, 30, 20, 30);
+        index.remove(1, 1);
+        assertEquals(30, index.maxWidth());
+        index.remove(2, 1);
+        assertEquals(20, index.maxWidth());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void set_replacesWidestItem() {
+        TextWidthIndex index = indexOf(10, 30, 20);
+        index.set(1, 5);
+        assertEquals(20, index.maxWidth());
+        index.set(0, 200);
+        assertEquals(200, index.maxWidth());
+    }
+
+    @Test
+    public void invalidate_keepsWidthsUntilReset() {
+        TextWidthIndex index = indexOf(10, 30);
+        index.invalidate();
+        assertFalse(index.isValid());
+        index.reset();
+        assertTrue(index.isValid());
+        assertEquals(0, index.size());
+        assertEquals(0, index.maxWidth());
+    }
+}
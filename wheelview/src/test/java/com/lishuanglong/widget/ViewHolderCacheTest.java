@@ -0,0 +1,128 @@
+package com.lishuanglong.widget;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link ViewHolderCache}单元测试
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 27)
+public class ViewHolderCacheTest {
+
+    private static final int DRAWN_ITEM_COUNT = 9;
+    private static final int ITEM_COUNT = 100;
+
+    private static final class Holder extends WheelItemRenderer.ViewHolder {
+    }
+
+    /**
+     * 只统计创建、绑定和回收次数的渲染器
+     */
+    private static final class CountingRenderer extends WheelItemRenderer<Holder> {
+        int createCount;
+        int bindCount;
+        int recycleCount;
+
+        @Override
+        protected Holder onCreateViewHolder() {
+            createCount++;
+            return new Holder();
+        }
+
+        @Override
+        protected void onBindViewHolder(Holder holder, WheelDataProvider provider, int position) {
+            bindCount++;
+        }
+
+        @Override
+        protected void onViewRecycled(Holder holder) {
+            recycleCount++;
+        }
+
+        @Override
+        protected void onDraw(Holder holder, Canvas canvas, Paint paint, Rect itemRect, int textX, int baseline) {
+        }
+    }
+
+    private CountingRenderer mRenderer;
+    private ViewHolderCache mCache;
+
+    @Before
+    public void setUp() {
+        mRenderer = new CountingRenderer();
+        mCache = new ViewHolderCache();
+        mCache.resize(mRenderer, ViewHolderCache.capacityFor(DRAWN_ITEM_COUNT));
+    }
+
+    /**
+     * 按条带缓存的方式渲染从指定绘制位置开始的数据项，即上下各多渲染若干个额外的数据项
+     */
+    private void renderStrip(int drawnDataStartPos) {
+        int first = drawnDataStartPos - FlatStripRenderer.EXTRA_ITEM_COUNT;
+        int count = DRAWN_ITEM_COUNT + 2 * FlatStripRenderer.EXTRA_ITEM_COUNT;
+        for (int i = first; i < first + count; i++) {
+            mCache.obtain(mRenderer, null, i, (i + ITEM_COUNT) % ITEM_COUNT, 0);
+        }
+    }
+
+    @Test
+    public void capacity_coversStripRows() {
+        assertEquals(DRAWN_ITEM_COUNT + 2 * FlatStripRenderer.EXTRA_ITEM_COUNT, mCache.capacity());
+    }
+
+    @Test
+    public void strip_rerenderDoesNotRebind() {
+        renderStrip(10);
+        assertEquals(mCache.capacity(), mRenderer.bindCount);
+        renderStrip(10);
+        assertEquals(mCache.capacity(), mRenderer.bindCount);
+        assertEquals(0, mRenderer.recycleCount);
+    }
+
+    @Test
+    public void scrollByOneItem_rebindsOneHolder() {
+        renderStrip(10);
+        int bindCount = mRenderer.bindCount;
+        renderStrip(11);
+        assertEquals(bindCount + 1, mRenderer.bindCount);
+        assertEquals(1, mRenderer.recycleCount);
+        assertEquals(mCache.capacity(), mRenderer.createCount);
+    }
+
+    @Test
+    public void dataVersionChange_rebindsSameHolder() {
+        WheelItemRenderer.ViewHolder holder = mCache.obtain(mRenderer, null, 3, 3, 0);
+        assertSame(holder, mCache.obtain(mRenderer, null, 3, 3, 1));
+        assertEquals(2, mRenderer.bindCount);
+    }
+
+    @Test
+    public void recycleRange_rebindsOnlyChangedItems() {
+        renderStrip(10);
+        int bindCount = mRenderer.bindCount;
+        mCache.recycleRange(mRenderer, 12, 3);
+        assertEquals(3, mRenderer.recycleCount);
+        renderStrip(10);
+        assertEquals(bindCount + 3, mRenderer.bindCount);
+    }
+
+    @Test
+    public void resize_recyclesBoundHolders() {
+        renderStrip(10);
+        mCache.resize(mRenderer, mCache.capacity());
+        assertEquals(0, mRenderer.recycleCount);
+        mCache.resize(mRenderer, ViewHolderCache.capacityFor(DRAWN_ITEM_COUNT + 2));
+        assertEquals(ViewHolderCache.capacityFor(DRAWN_ITEM_COUNT), mRenderer.recycleCount);
+    }
+}
@@ -0,0 +1,89 @@
+package com.lishuanglong.widget;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link WheelChangeDispatcher}单元测试
+ */
+public class WheelChangeDispatcherTest {
+
+    private static final long FRAME_NANOS = 16666667;
+
+    private final List<String> mEvents = new ArrayList<>();
+    private WheelChangeDispatcher mDispatcher;
+
+    @Before
+    public void setUp() {
+        mDispatcher = new WheelChangeDispatcher();
+        mDispatcher.setListener(new OnWheelChangeListener() {
+            @Override
+            public void onWheelScrolled(int offset) {
+                mEvents.add("scrolled " + offset);
+            }
+
+            @Override
+            public void onWheelSelected(int position) {
+                mEvents.add("selected " + position);
+            }
+
+            @Override
+            public void onWheelScrollStateChanged(int state) {
+                mEvents.add("state " + state);
+            }
+        });
+    }
+
+    @Test
+    public void stateChanged_onlyWhenStateChanges() {
+        mDispatcher.dispatchStateChanged(WheelView.SCROLL_STATE_SCROLLING);
+        mDispatcher.dispatchStateChanged(WheelView.SCROLL_STATE_SCROLLING);
+        mDispatcher.dispatchStateChanged(WheelView.SCROLL_STATE_IDLE);
+        assertEquals(Arrays.asList("state " + WheelView.SCROLL_STATE_SCROLLING,
+                "state " + WheelView.SCROLL_STATE_IDLE), mEvents);
+    }
+
+    @Test
+    public void settled_precedesSelectionAndIdle() {
+        mDispatcher.dispatchStateChanged(WheelView.SCROLL_STATE_SCROLLING);
+        mDispatcher.dispatchScrolled(-40, 3, FRAME_NANOS);
+        // 停止帧：先回调最终位置，再回调选中与静止，随后的帧回调以归零的偏移分发时不再回调
+        mDispatcher.dispatchSettled(-96, 4);
+        mDispatcher.dispatchSelected(4);
+        mDispatcher.dispatchStateChanged(WheelView.SCROLL_STATE_IDLE);
+        mDispatcher.dispatchScrolled(0, 4, 2 * FRAME_NANOS);
+        assertEquals(Arrays.asList("state " + WheelView.SCROLL_STATE_SCROLLING, "scrolled -40", "scrolled -96",
+                "selected 4", "state " + WheelView.SCROLL_STATE_IDLE), mEvents);
+    }
+
+    @Test
+    public void maxRate_skipsFramesButDeliversSettledOffset() {
+        mDispatcher.setMaxRate(30);
+        mDispatcher.dispatchStateChanged(WheelView.SCROLL_STATE_SCROLLING);
+        mDispatcher.dispatchScrolled(-10, 0, 100 * FRAME_NANOS);
+        mDispatcher.dispatchScrolled(-20, 0, 101 * FRAME_NANOS);
+        mDispatcher.dispatchScrolled(-30, 0, 102 * FRAME_NANOS);
+        mDispatcher.dispatchScrolled(-40, 0, 103 * FRAME_NANOS);
+        mDispatcher.dispatchSettled(-48, 0);
+        mDispatcher.dispatchStateChanged(WheelView.SCROLL_STATE_IDLE);
+        assertEquals(Arrays.asList("state " + WheelView.SCROLL_STATE_SCROLLING, "scrolled -10", "scrolled -30",
+                "scrolled -48", "state " + WheelView.SCROLL_STATE_IDLE), mEvents);
+    }
+
+    @Test
+    public void perItem_dispatchesOnlyWhenCenterChanges() {
+        mDispatcher.setPerItem(true);
+        mDispatcher.dispatchStateChanged(WheelView.SCROLL_STATE_DRAGGING);
+        mDispatcher.dispatchScrolled(-10, 0, FRAME_NANOS);
+        mDispatcher.dispatchScrolled(-30, 0, 2 * FRAME_NANOS);
+        mDispatcher.dispatchScrolled(-60, 1, 3 * FRAME_NANOS);
+        mDispatcher.dispatchSettled(-96, 1);
+        assertEquals(Arrays.asList("state " + WheelView.SCROLL_STATE_DRAGGING, "scrolled -10", "scrolled -60"), mEvents);
+    }
+}